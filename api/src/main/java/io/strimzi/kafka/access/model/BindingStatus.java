@@ -7,6 +7,8 @@ package io.strimzi.kafka.access.model;
 import io.strimzi.api.kafka.model.common.Constants;
 import io.sundr.builder.annotations.Buildable;
 
+import java.util.Objects;
+
 /**
  * The status class for keeping the state of service binding status
  */
@@ -51,4 +53,19 @@ public class BindingStatus {
         this.name = name;
     }
 
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof BindingStatus other)) {
+            return false;
+        }
+        return Objects.equals(name, other.name);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(name);
+    }
 }
@@ -6,11 +6,13 @@ package io.strimzi.kafka.access.model;
 
 import io.strimzi.api.kafka.model.common.Constants;
 import io.strimzi.api.kafka.model.common.Condition;
+import io.strimzi.api.kafka.model.common.ConditionBuilder;
 import io.strimzi.kafka.access.internal.StatusUtils;
 import io.sundr.builder.annotations.Buildable;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 
 /**
  * The status model of the KafkaAccess resource
@@ -23,6 +25,7 @@ public class KafkaAccessStatus {
 
     private BindingStatus binding;
     private long observedGeneration;
+    private String secretDigest;
     private final List<Condition> conditions = new ArrayList<>();
 
     /**
@@ -95,4 +98,63 @@ public class KafkaAccessStatus {
     public void setObservedGeneration(long observedGeneration) {
         this.observedGeneration = observedGeneration;
     }
+
+    /**
+     * Gets the digest of the data, labels and annotations of the Secret generated for the KafkaAccess resource.
+     *
+     * @return The Secret digest.
+     */
+    public String getSecretDigest() {
+        return secretDigest;
+    }
+
+    /**
+     * Sets the digest of the data, labels and annotations of the Secret generated for the KafkaAccess resource.
+     *
+     * @param secretDigest The Secret digest to set.
+     */
+    public void setSecretDigest(final String secretDigest) {
+        this.secretDigest = secretDigest;
+    }
+
+    /**
+     * Creates a deep copy of the status, so that it can be compared with the status after it has been changed by the
+     * reconciliation.
+     *
+     * @param status The status to copy, can be null
+     *
+     * @return A copy of the status, or null if the status is null
+     */
+    public static KafkaAccessStatus copyOf(final KafkaAccessStatus status) {
+        if (status == null) {
+            return null;
+        }
+        final KafkaAccessStatus copy = new KafkaAccessStatus();
+        if (status.getBinding() != null) {
+            copy.setBinding(new BindingStatus(status.getBinding().getName()));
+        }
+        copy.setObservedGeneration(status.getObservedGeneration());
+        copy.setSecretDigest(status.getSecretDigest());
+        status.getConditions().forEach(condition -> copy.getConditions().add(new ConditionBuilder(condition).build()));
+        return copy;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof KafkaAccessStatus other)) {
+            return false;
+        }
+        return observedGeneration == other.observedGeneration
+                && Objects.equals(binding, other.binding)
+                && Objects.equals(secretDigest, other.secretDigest)
+                && Objects.equals(conditions, other.conditions);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(binding, observedGeneration, secretDigest, conditions);
+    }
 }
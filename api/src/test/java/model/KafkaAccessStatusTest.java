@@ -0,0 +1,67 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package model;
+
+import io.strimzi.kafka.access.model.BindingStatus;
+import io.strimzi.kafka.access.model.KafkaAccessStatus;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class KafkaAccessStatusTest {
+    @Test
+    @DisplayName("When the same values are set again on a copy of the status, the copy is equal to the status")
+    void testCopyEqualWhenValuesUnchanged() {
+        final KafkaAccessStatus status = readyStatus();
+        final KafkaAccessStatus copy = KafkaAccessStatus.copyOf(status);
+
+        copy.setBinding(new BindingStatus("my-secret"));
+        copy.setReadyCondition(true, "Ready", "Ready");
+        copy.setObservedGeneration(1);
+        copy.setSecretDigest("digest");
+
+        assertThat(copy).isEqualTo(status);
+        assertThat(copy.hashCode()).isEqualTo(status.hashCode());
+    }
+
+    @Test
+    @DisplayName("When the condition of the status is amended, the copy taken before is not changed and no longer equal")
+    void testCopyNotEqualWhenConditionChanged() {
+        final KafkaAccessStatus status = readyStatus();
+        final KafkaAccessStatus copy = KafkaAccessStatus.copyOf(status);
+
+        status.setReadyCondition(true, "Other message", "Ready");
+
+        assertThat(copy.getConditions()).first().satisfies(c -> assertThat(c.getMessage()).isEqualTo("Ready"));
+        assertThat(copy).isNotEqualTo(status);
+    }
+
+    @Test
+    @DisplayName("When the binding, observed generation or digest changes, the status is no longer equal")
+    void testNotEqualWhenFieldsChanged() {
+        final KafkaAccessStatus binding = readyStatus();
+        binding.setBinding(new BindingStatus("other-secret"));
+        final KafkaAccessStatus generation = readyStatus();
+        generation.setObservedGeneration(2);
+        final KafkaAccessStatus digest = readyStatus();
+        digest.setSecretDigest("other-digest");
+
+        assertThat(binding).isNotEqualTo(readyStatus());
+        assertThat(generation).isNotEqualTo(readyStatus());
+        assertThat(digest).isNotEqualTo(readyStatus());
+        assertThat(KafkaAccessStatus.copyOf(null)).isNull();
+    }
+
+    private static KafkaAccessStatus readyStatus() {
+        final KafkaAccessStatus status = new KafkaAccessStatus();
+        status.setBinding(new BindingStatus("my-secret"));
+        status.setReadyCondition(true, "Ready", "Ready");
+        status.getConditions().get(0).setLastTransitionTime("2026-01-01T00:00:00Z");
+        status.setObservedGeneration(1);
+        status.setSecretDigest("digest");
+        return status;
+    }
+}
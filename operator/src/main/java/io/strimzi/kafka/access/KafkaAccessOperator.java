@@ -4,37 +4,76 @@
  */
 package io.strimzi.kafka.access;
 
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.KubernetesClientBuilder;
 import io.javaoperatorsdk.operator.Operator;
+import io.javaoperatorsdk.operator.api.config.LeaderElectionConfiguration;
+import io.javaoperatorsdk.operator.api.config.LeaderElectionConfigurationBuilder;
+import io.javaoperatorsdk.operator.monitoring.micrometer.MicrometerMetricsV2;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.prometheusmetrics.PrometheusConfig;
+import io.micrometer.prometheusmetrics.PrometheusMeterRegistry;
+import io.strimzi.kafka.access.internal.ApiRequestMetrics;
+import io.strimzi.kafka.access.internal.OperatorMetrics;
+import io.strimzi.kafka.access.internal.PriorityReconcileExecutor;
+import io.strimzi.kafka.access.internal.WriteRateLimiter;
 import io.strimzi.kafka.access.server.HealthServlet;
+import io.strimzi.kafka.access.server.MetricsServlet;
 import org.eclipse.jetty.server.Server;
 import org.eclipse.jetty.servlet.ServletHandler;
+import org.eclipse.jetty.servlet.ServletHolder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
 /**
  * The main operator class for Strimzi Access Operator
  */
+@SuppressWarnings("ClassDataAbstractionCoupling")
 public class KafkaAccessOperator {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(KafkaAccessOperator.class);
     private static final int HEALTH_CHECK_PORT = 8080;
 
     /**
-     * Initializes the operator and runs a servlet for health checking
+     * Initializes the operator and runs the servlets for health checking and metrics
      *
      * @param args      Main method arguments
      */
     public static void main(final String[] args) {
         LOGGER.info("Kafka Access operator starting");
-        final Operator operator = new Operator(overrider -> overrider
-                .withUseSSAToPatchPrimaryResource(false));
-        operator.register(new KafkaAccessReconciler(operator.getKubernetesClient()));
+        final KafkaAccessOperatorConfig config = KafkaAccessOperatorConfig.fromMap(System.getenv());
+        LOGGER.info("Operator configuration: {}", config);
+        final PrometheusMeterRegistry prometheusRegistry = prometheusRegistry();
+        final KubernetesClient kubernetesClient = kubernetesClient(config);
+        final Operator operator = new Operator(overrider -> {
+            overrider.withKubernetesClient(kubernetesClient)
+                    .withExecutorService(new PriorityReconcileExecutor(config.getReconciliationThreads(), config.getReconciliationThreadsPerKafkaCluster(),
+                            config.isFairScheduling(), reconciliationThreadFactory(config), Metrics.globalRegistry))
+                    .withMetrics(MicrometerMetricsV2.newBuilder(Metrics.globalRegistry)
+                            .withExecutionTimerConfig(Timer.Builder::publishPercentileHistogram)
+                            .build())
+                    .withUseSSAToPatchPrimaryResource(false);
+            if (config.isLeaderElectionEnabled()) {
+                overrider.withLeaderElectionConfiguration(leaderElectionConfiguration(config));
+            }
+        });
+        final KafkaAccessReconciler reconciler = new KafkaAccessReconciler(operator.getKubernetesClient(), config);
+        operator.register(reconciler,
+                overrider -> overrider.settingNamespaces(config.getKafkaAccessNamespaces())
+                        .withLabelSelector(config.getKafkaAccessLabelSelector())
+                        .withOnAddFilter(reconciler.getPropagationTracker()::primaryAdded)
+                        .withOnUpdateFilter(reconciler.getPropagationTracker()::primaryUpdated));
         operator.start();
         Server server = new Server(HEALTH_CHECK_PORT);
         ServletHandler handler = new ServletHandler();
         server.setHandler(handler);
         handler.addServletWithMapping(HealthServlet.class, "/healthy");
         handler.addServletWithMapping(HealthServlet.class, "/ready");
+        handler.addServletWithMapping(new ServletHolder(new MetricsServlet(prometheusRegistry)), "/metrics");
         try {
             server.start();
             LOGGER.info("Kafka Access operator is now ready (health server listening)");
@@ -43,4 +82,73 @@ public class KafkaAccessOperator {
             LOGGER.error("Failed to start health server", e);
         }
     }
+
+    /**
+     * Creates the Prometheus meter registry scraped on the /metrics endpoint and adds it to the global registry, so it
+     * gets the metrics of the Operator SDK, of the reconciler and of the JVM. The Operator SDK metrics are tagged by
+     * controller only, not by namespace or resource, to keep the number of time series independent of the number of
+     * KafkaAccess resources.
+     */
+    private static PrometheusMeterRegistry prometheusRegistry() {
+        final PrometheusMeterRegistry prometheusRegistry = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+        Metrics.addRegistry(prometheusRegistry);
+        OperatorMetrics.bindJvmMetrics(Metrics.globalRegistry);
+        return prometheusRegistry;
+    }
+
+    /**
+     * Creates the Kubernetes client used by the operator. The write rate limiter and the request metrics are installed
+     * in its HTTP client, so they apply to the requests of the reconciler, the informers and the status patches of the
+     * Operator SDK. The rate limiter lets the Lease requests of the leader election through, so a backlog of writes
+     * does not delay the renewals of the leader. The metrics are installed after the rate limiter, so the time writes
+     * wait for it is not counted as request time.
+     */
+    private static KubernetesClient kubernetesClient(final KafkaAccessOperatorConfig config) {
+        final KubernetesClientBuilder builder = new KubernetesClientBuilder();
+        if (config.isVirtualThreads()) {
+            builder.withTaskExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        }
+        final ApiRequestMetrics apiRequestMetrics = new ApiRequestMetrics(Metrics.globalRegistry);
+        final WriteRateLimiter writeRateLimiter = config.getWriteRateLimit() > 0
+                ? new WriteRateLimiter(config.getWriteRateLimit(), config.getWriteBurst(), Metrics.globalRegistry)
+                : null;
+        builder.withHttpClientBuilderConsumer(httpClientBuilder -> {
+            if (writeRateLimiter != null) {
+                httpClientBuilder.addOrReplaceInterceptor(WriteRateLimiter.NAME, writeRateLimiter);
+            }
+            httpClientBuilder.addOrReplaceInterceptor(ApiRequestMetrics.NAME, apiRequestMetrics);
+        });
+        return builder.build();
+    }
+
+    /**
+     * Creates the leader election configuration. The Operator SDK starts the informers of all replicas right away and
+     * only starts processing the events once a replica becomes the leader, so the standby replicas take over with
+     * synced caches and indexes instead of listing all the resources again.
+     */
+    private static LeaderElectionConfiguration leaderElectionConfiguration(final KafkaAccessOperatorConfig config) {
+        final LeaderElectionConfigurationBuilder builder = LeaderElectionConfigurationBuilder
+                .aLeaderElectionConfiguration(config.getLeaderElectionLeaseName())
+                .withLeaseDuration(config.getLeaderElectionLeaseDuration())
+                .withRenewDeadline(config.getLeaderElectionRenewDeadline())
+                .withRetryPeriod(config.getLeaderElectionRetryPeriod());
+        if (config.getLeaderElectionLeaseNamespace() != null) {
+            builder.withLeaseNamespace(config.getLeaderElectionLeaseNamespace());
+        }
+        if (config.getLeaderElectionIdentity() != null) {
+            builder.withIdentity(config.getLeaderElectionIdentity());
+        }
+        return builder.build();
+    }
+
+    /**
+     * Creates the factory of the reconciliation threads. Virtual threads do not hold a platform thread while the
+     * reconciliation waits for the Kubernetes API. The executor still runs at most STRIMZI_RECONCILIATION_THREADS
+     * reconciliations at once, whose default is raised when virtual threads are used.
+     */
+    private static ThreadFactory reconciliationThreadFactory(final KafkaAccessOperatorConfig config) {
+        return config.isVirtualThreads()
+                ? Thread.ofVirtual().name("reconciler-", 0).factory()
+                : Thread.ofPlatform().name("reconciler-", 0).factory();
+    }
 }
@@ -0,0 +1,509 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.strimzi.kafka.access;
+
+import io.javaoperatorsdk.operator.api.config.ConfigurationService;
+import io.javaoperatorsdk.operator.api.reconciler.Constants;
+import io.strimzi.kafka.access.internal.KafkaAccessMapper;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Configuration of the Strimzi Access Operator, read from the environment variables of the operator container
+ */
+public class KafkaAccessOperatorConfig {
+
+    /**
+     * Comma separated list of the namespaces watched for KafkaAccess resources, all namespaces are watched if it is
+     * not set, empty or "*"
+     */
+    public static final String STRIMZI_KAFKA_ACCESS_NAMESPACES = "STRIMZI_KAFKA_ACCESS_NAMESPACES";
+
+    /**
+     * Comma separated list of the namespaces watched for Kafka and KafkaUser resources and their Secrets, all
+     * namespaces are watched if it is not set, empty or "*"
+     */
+    public static final String STRIMZI_KAFKA_NAMESPACES = "STRIMZI_KAFKA_NAMESPACES";
+
+    /**
+     * Whether the Secrets generated for KafkaAccess resources are written with server-side apply, defaults to false,
+     * in which case the Secrets are created and edited with separate requests. With server-side apply, the labels and
+     * annotations removed from the Secret template are also removed from the Secrets, while the edits keep them.
+     */
+    public static final String STRIMZI_SECRET_SERVER_SIDE_APPLY = "STRIMZI_SECRET_SERVER_SIDE_APPLY";
+
+    /**
+     * Maximum number of KafkaAccess resources whose rendered Secret data is cached, defaults to 10000. The least
+     * recently reconciled resource is evicted when it is exceeded, and its Secret data is rendered again at its next
+     * reconciliation.
+     */
+    public static final String STRIMZI_SECRET_DATA_CACHE_SIZE = "STRIMZI_SECRET_DATA_CACHE_SIZE";
+
+    /**
+     * Maximum number of writes per second sent to the Kubernetes API, shared by the Secret writes and the status
+     * patches, defaults to 0 which disables the rate limiting. The rate is lowered while the API server throttles the
+     * writes. The Lease renewals are not limited. A write waiting for the limit blocks its reconciliation thread.
+     */
+    public static final String STRIMZI_WRITE_RATE_LIMIT = "STRIMZI_WRITE_RATE_LIMIT";
+
+    /**
+     * Number of writes that can be sent to the Kubernetes API at once after a quiet period when the writes are rate
+     * limited, defaults to 40
+     */
+    public static final String STRIMZI_WRITE_BURST = "STRIMZI_WRITE_BURST";
+
+    /**
+     * Time in milliseconds to wait for further events after an event of a Kafka cluster, its CA certificate Secret or a
+     * KafkaUser Secret before the affected KafkaAccess resources are reconciled, defaults to 1000. Set to 0 to
+     * reconcile them right away.
+     */
+    public static final String STRIMZI_EVENT_DEBOUNCE_WINDOW_MS = "STRIMZI_EVENT_DEBOUNCE_WINDOW_MS";
+
+    /**
+     * Maximum time in milliseconds the reconciliation of a KafkaAccess resource is delayed by the debounce window
+     * when further events keep arriving, defaults to 10000
+     */
+    public static final String STRIMZI_EVENT_DEBOUNCE_MAX_DELAY_MS = "STRIMZI_EVENT_DEBOUNCE_MAX_DELAY_MS";
+
+    /**
+     * Number of KafkaAccess resources reconciled concurrently, defaults to 50, or to 1000 when
+     * STRIMZI_VIRTUAL_THREADS is enabled
+     */
+    public static final String STRIMZI_RECONCILIATION_THREADS = "STRIMZI_RECONCILIATION_THREADS";
+
+    /**
+     * Maximum number of KafkaAccess resources of the same Kafka cluster reconciled concurrently, defaults to
+     * STRIMZI_RECONCILIATION_THREADS, which does not limit the clusters. Set it lower, so that the KafkaAccess resources
+     * of the other clusters are not starved while the events of one cluster fan out.
+     */
+    public static final String STRIMZI_RECONCILIATION_THREADS_PER_KAFKA_CLUSTER = "STRIMZI_RECONCILIATION_THREADS_PER_KAFKA_CLUSTER";
+
+    /**
+     * Whether the queued reconciliations are shared round-robin between the namespaces of the KafkaAccess resources,
+     * defaults to true. When set to false they run in the order they were queued.
+     */
+    public static final String STRIMZI_FAIR_SCHEDULING = "STRIMZI_FAIR_SCHEDULING";
+
+    /**
+     * Whether the reconciliations and the dispatching of the Kubernetes client run on virtual threads, defaults to
+     * false. A reconciliation waiting for the Kubernetes API does not hold a platform thread then, so the default of
+     * STRIMZI_RECONCILIATION_THREADS is raised to 1000. The number of concurrent reconciliations is still limited to
+     * STRIMZI_RECONCILIATION_THREADS, so that the queued reconciliations keep their priority order.
+     */
+    public static final String STRIMZI_VIRTUAL_THREADS = "STRIMZI_VIRTUAL_THREADS";
+
+    /**
+     * Whether the replicas of the operator elect a leader using a Lease, defaults to false. Only the leader reconciles
+     * the KafkaAccess resources, the other replicas keep their informers and indexes synced to take over quickly.
+     */
+    public static final String STRIMZI_LEADER_ELECTION_ENABLED = "STRIMZI_LEADER_ELECTION_ENABLED";
+
+    /**
+     * Name of the Lease used for the leader election, defaults to strimzi-access-operator
+     */
+    public static final String STRIMZI_LEADER_ELECTION_LEASE_NAME = "STRIMZI_LEADER_ELECTION_LEASE_NAME";
+
+    /**
+     * Namespace of the Lease used for the leader election, defaults to the namespace of the service account of the
+     * operator
+     */
+    public static final String STRIMZI_LEADER_ELECTION_LEASE_NAMESPACE = "STRIMZI_LEADER_ELECTION_LEASE_NAMESPACE";
+
+    /**
+     * Identity of the replica in the leader election, which has to be unique, defaults to the host name of the pod
+     */
+    public static final String STRIMZI_LEADER_ELECTION_IDENTITY = "STRIMZI_LEADER_ELECTION_IDENTITY";
+
+    /**
+     * Time in milliseconds the standby replicas wait before taking over a Lease that was not renewed, defaults to 15000
+     */
+    public static final String STRIMZI_LEADER_ELECTION_LEASE_DURATION_MS = "STRIMZI_LEADER_ELECTION_LEASE_DURATION_MS";
+
+    /**
+     * Time in milliseconds the leader retries renewing the Lease before it stops leading, defaults to 10000
+     */
+    public static final String STRIMZI_LEADER_ELECTION_RENEW_DEADLINE_MS = "STRIMZI_LEADER_ELECTION_RENEW_DEADLINE_MS";
+
+    /**
+     * Time in milliseconds between the attempts to acquire or renew the Lease, defaults to 2000
+     */
+    public static final String STRIMZI_LEADER_ELECTION_RETRY_PERIOD_MS = "STRIMZI_LEADER_ELECTION_RETRY_PERIOD_MS";
+
+    /**
+     * Number of shards the KafkaAccess resources are split into between the replicas of the operator, defaults to 0,
+     * which disables sharding. The shards are owned through Leases with the leader election Lease name as prefix and the
+     * leader election namespace, identity and timings. All replicas reconcile their shards, so sharding replaces leader
+     * election and STRIMZI_LEADER_ELECTION_ENABLED must not be enabled with it. Sharding only distributes the
+     * reconciliations, every replica still caches all the watched resources.
+     */
+    public static final String STRIMZI_SHARD_COUNT = "STRIMZI_SHARD_COUNT";
+
+    /**
+     * Label selector of the KafkaAccess resources reconciled by this operator instance, for example
+     * access.strimzi.io/shard=a, all KafkaAccess resources are reconciled if it is not set
+     */
+    public static final String STRIMZI_KAFKA_ACCESS_LABEL_SELECTOR = "STRIMZI_KAFKA_ACCESS_LABEL_SELECTOR";
+
+    /**
+     * Label selector added to the selectors of the Secrets of the Strimzi cluster and user operators watched by this
+     * operator instance, for example strimzi.io/cluster=my-cluster, not set by default
+     */
+    public static final String STRIMZI_KAFKA_SECRET_LABEL_SELECTOR = "STRIMZI_KAFKA_SECRET_LABEL_SELECTOR";
+
+    /**
+     * Value of the app.kubernetes.io/managed-by label of the Secrets generated by this operator instance, which only
+     * watches the Secrets with its own value, defaults to kafka-access-operator. Each operator instance reconciling a
+     * separate set of KafkaAccess resources needs its own value.
+     */
+    public static final String STRIMZI_SECRET_MANAGED_BY = "STRIMZI_SECRET_MANAGED_BY";
+
+    private static final String ANY_NAMESPACE = "*";
+    private static final String DEFAULT_LEASE_NAME = "strimzi-access-operator";
+    private static final int DEFAULT_VIRTUAL_RECONCILIATION_THREADS = 1000;
+
+    private final Set<String> kafkaAccessNamespaces;
+    private final Set<String> kafkaNamespaces;
+    private final boolean secretServerSideApply;
+    private final int secretDataCacheSize;
+    private final double writeRateLimit;
+    private final int writeBurst;
+    private final Duration eventDebounceWindow;
+    private final Duration eventDebounceMaxDelay;
+    private final int reconciliationThreads;
+    private final int reconciliationThreadsPerKafkaCluster;
+    private final boolean fairScheduling;
+    private final boolean virtualThreads;
+    private final boolean leaderElectionEnabled;
+    private final String leaderElectionLeaseName;
+    private final String leaderElectionLeaseNamespace;
+    private final String leaderElectionIdentity;
+    private final Duration leaderElectionLeaseDuration;
+    private final Duration leaderElectionRenewDeadline;
+    private final Duration leaderElectionRetryPeriod;
+    private final int shardCount;
+    private final String kafkaAccessLabelSelector;
+    private final String kafkaSecretLabelSelector;
+    private final String secretManagedBy;
+
+    private KafkaAccessOperatorConfig(final Map<String, String> env) {
+        this.kafkaAccessNamespaces = parseNamespaces(env.get(STRIMZI_KAFKA_ACCESS_NAMESPACES));
+        this.kafkaNamespaces = parseNamespaces(env.get(STRIMZI_KAFKA_NAMESPACES));
+        this.secretServerSideApply = parseBoolean(env.get(STRIMZI_SECRET_SERVER_SIDE_APPLY), false);
+        this.secretDataCacheSize = parseInt(env.get(STRIMZI_SECRET_DATA_CACHE_SIZE), 10_000);
+        this.writeRateLimit = parseDouble(env.get(STRIMZI_WRITE_RATE_LIMIT), 0);
+        this.writeBurst = parseInt(env.get(STRIMZI_WRITE_BURST), 40);
+        this.eventDebounceWindow = Duration.ofMillis(parseLong(env.get(STRIMZI_EVENT_DEBOUNCE_WINDOW_MS), 1_000));
+        this.eventDebounceMaxDelay = Duration.ofMillis(parseLong(env.get(STRIMZI_EVENT_DEBOUNCE_MAX_DELAY_MS), 10_000));
+        this.virtualThreads = parseBoolean(env.get(STRIMZI_VIRTUAL_THREADS), false);
+        this.reconciliationThreads = parseInt(env.get(STRIMZI_RECONCILIATION_THREADS),
+                virtualThreads ? DEFAULT_VIRTUAL_RECONCILIATION_THREADS : ConfigurationService.DEFAULT_RECONCILIATION_THREADS_NUMBER);
+        this.reconciliationThreadsPerKafkaCluster = parseInt(env.get(STRIMZI_RECONCILIATION_THREADS_PER_KAFKA_CLUSTER), reconciliationThreads);
+        this.fairScheduling = parseBoolean(env.get(STRIMZI_FAIR_SCHEDULING), true);
+        this.leaderElectionEnabled = parseBoolean(env.get(STRIMZI_LEADER_ELECTION_ENABLED), false);
+        this.leaderElectionLeaseName = parseString(env.get(STRIMZI_LEADER_ELECTION_LEASE_NAME), DEFAULT_LEASE_NAME);
+        this.leaderElectionLeaseNamespace = parseString(env.get(STRIMZI_LEADER_ELECTION_LEASE_NAMESPACE), null);
+        this.leaderElectionIdentity = parseString(env.get(STRIMZI_LEADER_ELECTION_IDENTITY), null);
+        this.leaderElectionLeaseDuration = Duration.ofMillis(parseLong(env.get(STRIMZI_LEADER_ELECTION_LEASE_DURATION_MS), 15_000));
+        this.leaderElectionRenewDeadline = Duration.ofMillis(parseLong(env.get(STRIMZI_LEADER_ELECTION_RENEW_DEADLINE_MS), 10_000));
+        this.leaderElectionRetryPeriod = Duration.ofMillis(parseLong(env.get(STRIMZI_LEADER_ELECTION_RETRY_PERIOD_MS), 2_000));
+        this.shardCount = parseInt(env.get(STRIMZI_SHARD_COUNT), 0);
+        if (shardCount > 0 && leaderElectionEnabled) {
+            throw new IllegalArgumentException(String.format("%s and %s cannot be used together, sharding replaces leader election",
+                    STRIMZI_SHARD_COUNT, STRIMZI_LEADER_ELECTION_ENABLED));
+        }
+        this.kafkaAccessLabelSelector = parseString(env.get(STRIMZI_KAFKA_ACCESS_LABEL_SELECTOR), null);
+        this.kafkaSecretLabelSelector = parseString(env.get(STRIMZI_KAFKA_SECRET_LABEL_SELECTOR), null);
+        this.secretManagedBy = parseString(env.get(STRIMZI_SECRET_MANAGED_BY), KafkaAccessMapper.KAFKA_ACCESS_LABEL_VALUE);
+    }
+
+    /**
+     * Creates the configuration from a map of environment variables.
+     *
+     * @param env   The environment variables
+     *
+     * @return      The operator configuration
+     *
+     * @throws IllegalArgumentException if sharding and leader election are both enabled
+     */
+    public static KafkaAccessOperatorConfig fromMap(final Map<String, String> env) {
+        return new KafkaAccessOperatorConfig(env);
+    }
+
+    /**
+     * Creates the default configuration, which is used when no environment variables are set.
+     *
+     * @return      The default operator configuration
+     */
+    public static KafkaAccessOperatorConfig defaults() {
+        return fromMap(Map.of());
+    }
+
+    private static Set<String> parseNamespaces(final String namespaces) {
+        final Set<String> parsed = namespaces == null ? Set.of() : Arrays.stream(namespaces.split(","))
+                .map(String::trim)
+                .filter(namespace -> !namespace.isEmpty())
+                .collect(Collectors.toUnmodifiableSet());
+        if (parsed.isEmpty() || parsed.contains(ANY_NAMESPACE)) {
+            return Constants.WATCH_ALL_NAMESPACE_SET;
+        }
+        return parsed;
+    }
+
+    private static String parseString(final String value, final String defaultValue) {
+        return value == null || value.isBlank() ? defaultValue : value.trim();
+    }
+
+    private static boolean parseBoolean(final String value, final boolean defaultValue) {
+        return value == null || value.isBlank() ? defaultValue : Boolean.parseBoolean(value.trim());
+    }
+
+    private static double parseDouble(final String value, final double defaultValue) {
+        return value == null || value.isBlank() ? defaultValue : Double.parseDouble(value.trim());
+    }
+
+    private static int parseInt(final String value, final int defaultValue) {
+        return value == null || value.isBlank() ? defaultValue : Integer.parseInt(value.trim());
+    }
+
+    private static long parseLong(final String value, final long defaultValue) {
+        return value == null || value.isBlank() ? defaultValue : Long.parseLong(value.trim());
+    }
+
+    /**
+     * Gets the namespaces watched for KafkaAccess resources and the Secrets generated for them.
+     *
+     * @return  The namespaces, or the JOSDK set for watching all namespaces
+     */
+    public Set<String> getKafkaAccessNamespaces() {
+        return kafkaAccessNamespaces;
+    }
+
+    /**
+     * Gets the namespaces watched for Kafka and KafkaUser resources and the Secrets of the Strimzi operators.
+     *
+     * @return  The namespaces, or the JOSDK set for watching all namespaces
+     */
+    public Set<String> getKafkaNamespaces() {
+        return kafkaNamespaces;
+    }
+
+    /**
+     * Gets whether the Secrets generated for KafkaAccess resources are written with server-side apply.
+     *
+     * @return  True if server-side apply is used
+     */
+    public boolean isSecretServerSideApply() {
+        return secretServerSideApply;
+    }
+
+    /**
+     * Gets the maximum number of KafkaAccess resources whose rendered Secret data is cached.
+     *
+     * @return  The cache size
+     */
+    public int getSecretDataCacheSize() {
+        return secretDataCacheSize;
+    }
+
+    /**
+     * Gets the maximum number of writes per second sent to the Kubernetes API.
+     *
+     * @return  The write rate, or 0 or less if the writes are not rate limited
+     */
+    public double getWriteRateLimit() {
+        return writeRateLimit;
+    }
+
+    /**
+     * Gets the number of writes that can be sent to the Kubernetes API at once after a quiet period.
+     *
+     * @return  The write burst
+     */
+    public int getWriteBurst() {
+        return writeBurst;
+    }
+
+    /**
+     * Gets the time to wait for further events of the Kafka clusters and Secrets before reconciling the affected
+     * KafkaAccess resources.
+     *
+     * @return  The debounce window, zero if the events are not debounced
+     */
+    public Duration getEventDebounceWindow() {
+        return eventDebounceWindow;
+    }
+
+    /**
+     * Gets the maximum time the reconciliation of a KafkaAccess resource is delayed by the debounce window.
+     *
+     * @return  The maximum delay
+     */
+    public Duration getEventDebounceMaxDelay() {
+        return eventDebounceMaxDelay;
+    }
+
+    /**
+     * Gets the number of KafkaAccess resources reconciled concurrently.
+     *
+     * @return  The number of reconciliation threads
+     */
+    public int getReconciliationThreads() {
+        return reconciliationThreads;
+    }
+
+    /**
+     * Gets the maximum number of KafkaAccess resources of the same Kafka cluster reconciled concurrently.
+     *
+     * @return  The number of reconciliation threads per Kafka cluster
+     */
+    public int getReconciliationThreadsPerKafkaCluster() {
+        return reconciliationThreadsPerKafkaCluster;
+    }
+
+    /**
+     * Gets whether the queued reconciliations are shared round-robin between the namespaces.
+     *
+     * @return  True if fair scheduling is enabled
+     */
+    public boolean isFairScheduling() {
+        return fairScheduling;
+    }
+
+    /**
+     * Gets whether the reconciliations and the dispatching of the Kubernetes client run on virtual threads.
+     *
+     * @return  True if virtual threads are used
+     */
+    public boolean isVirtualThreads() {
+        return virtualThreads;
+    }
+
+    /**
+     * Gets whether the replicas of the operator elect a leader using a Lease.
+     *
+     * @return  True if leader election is enabled
+     */
+    public boolean isLeaderElectionEnabled() {
+        return leaderElectionEnabled;
+    }
+
+    /**
+     * Gets the name of the Lease used for the leader election.
+     *
+     * @return  The Lease name
+     */
+    public String getLeaderElectionLeaseName() {
+        return leaderElectionLeaseName;
+    }
+
+    /**
+     * Gets the namespace of the Lease used for the leader election.
+     *
+     * @return  The Lease namespace, or null if it is inferred from the service account
+     */
+    public String getLeaderElectionLeaseNamespace() {
+        return leaderElectionLeaseNamespace;
+    }
+
+    /**
+     * Gets the identity of this replica in the leader election.
+     *
+     * @return  The identity, or null if the host name is used
+     */
+    public String getLeaderElectionIdentity() {
+        return leaderElectionIdentity;
+    }
+
+    /**
+     * Gets the time the standby replicas wait before taking over a Lease that was not renewed.
+     *
+     * @return  The Lease duration
+     */
+    public Duration getLeaderElectionLeaseDuration() {
+        return leaderElectionLeaseDuration;
+    }
+
+    /**
+     * Gets the time the leader retries renewing the Lease before it stops leading.
+     *
+     * @return  The renew deadline
+     */
+    public Duration getLeaderElectionRenewDeadline() {
+        return leaderElectionRenewDeadline;
+    }
+
+    /**
+     * Gets the time between the attempts to acquire or renew the Lease.
+     *
+     * @return  The retry period
+     */
+    public Duration getLeaderElectionRetryPeriod() {
+        return leaderElectionRetryPeriod;
+    }
+
+    /**
+     * Gets the number of shards the KafkaAccess resources are split into between the replicas of the operator.
+     *
+     * @return  The number of shards, or 0 or less if sharding is disabled
+     */
+    public int getShardCount() {
+        return shardCount;
+    }
+
+    /**
+     * Gets whether the KafkaAccess resources are sharded between the replicas of the operator.
+     *
+     * @return  True if sharding is enabled
+     */
+    public boolean isSharded() {
+        return shardCount > 0;
+    }
+
+    /**
+     * Gets the label selector of the KafkaAccess resources reconciled by this operator instance.
+     *
+     * @return  The label selector, or null if all KafkaAccess resources are reconciled
+     */
+    public String getKafkaAccessLabelSelector() {
+        return kafkaAccessLabelSelector;
+    }
+
+    /**
+     * Gets the label selector added to the selectors of the Secrets of the Strimzi cluster and user operators.
+     *
+     * @return  The label selector, or null if it is not set
+     */
+    public String getKafkaSecretLabelSelector() {
+        return kafkaSecretLabelSelector;
+    }
+
+    /**
+     * Gets the value of the managed-by label of the Secrets generated by this operator instance.
+     *
+     * @return  The managed-by label value
+     */
+    public String getSecretManagedBy() {
+        return secretManagedBy;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("KafkaAccessOperatorConfig(kafkaAccessNamespaces=%s, kafkaNamespaces=%s, secretServerSideApply=%s, " +
+                        "secretDataCacheSize=%d, writeRateLimit=%s, writeBurst=%d, eventDebounceWindow=%s, eventDebounceMaxDelay=%s, reconciliationThreads=%d, " +
+                        "reconciliationThreadsPerKafkaCluster=%d, fairScheduling=%s, virtualThreads=%s, leaderElectionEnabled=%s, " +
+                        "leaderElectionLeaseName=%s, leaderElectionLeaseNamespace=%s, leaderElectionIdentity=%s, leaderElectionLeaseDuration=%s, " +
+                        "leaderElectionRenewDeadline=%s, leaderElectionRetryPeriod=%s, shardCount=%d, kafkaAccessLabelSelector=%s, " +
+                        "kafkaSecretLabelSelector=%s, secretManagedBy=%s)",
+                kafkaAccessNamespaces, kafkaNamespaces, secretServerSideApply, secretDataCacheSize, writeRateLimit, writeBurst, eventDebounceWindow, eventDebounceMaxDelay,
+                reconciliationThreads, reconciliationThreadsPerKafkaCluster, fairScheduling, virtualThreads, leaderElectionEnabled,
+                leaderElectionLeaseName, leaderElectionLeaseNamespace, leaderElectionIdentity, leaderElectionLeaseDuration,
+                leaderElectionRenewDeadline, leaderElectionRetryPeriod, shardCount, kafkaAccessLabelSelector,
+                kafkaSecretLabelSelector, secretManagedBy);
+    }
+}
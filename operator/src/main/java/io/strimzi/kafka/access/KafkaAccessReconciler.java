@@ -19,33 +19,53 @@ import io.javaoperatorsdk.operator.api.reconciler.UpdateControl;
 import io.javaoperatorsdk.operator.processing.event.ResourceID;
 import io.javaoperatorsdk.operator.processing.event.source.EventSource;
 import io.javaoperatorsdk.operator.processing.event.source.informer.InformerEventSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
 import io.strimzi.api.kafka.model.kafka.Kafka;
 import io.strimzi.api.kafka.model.user.KafkaUser;
+import io.strimzi.kafka.access.internal.DebouncingEventSource;
+import io.strimzi.kafka.access.internal.EventFilters;
+import io.strimzi.kafka.access.internal.InformerTransforms;
 import io.strimzi.kafka.access.internal.KafkaAccessMapper;
 import io.strimzi.kafka.access.internal.MissingKubernetesResourceException;
+import io.strimzi.kafka.access.internal.OperatorMetrics;
+import io.strimzi.kafka.access.internal.PrimaryDeletionEventSource;
+import io.strimzi.kafka.access.internal.PropagationTracker;
+import io.strimzi.kafka.access.internal.PropagationTracker.Trigger;
+import io.strimzi.kafka.access.internal.SecretDigest;
+import io.strimzi.kafka.access.internal.ShardLeaseManager;
+import io.strimzi.kafka.access.internal.TransformingInformerConfiguration;
 import io.strimzi.kafka.access.model.BindingStatus;
 import io.strimzi.kafka.access.model.KafkaAccess;
 import io.strimzi.kafka.access.model.KafkaAccessStatus;
-import java.util.List;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * The custom reconciler of Strimzi Access Operator
  */
-@SuppressWarnings("ClassFanOutComplexity")
+@SuppressWarnings({"ClassDataAbstractionCoupling", "ClassFanOutComplexity"})
 @ControllerConfiguration
 public class KafkaAccessReconciler implements Reconciler<KafkaAccess> {
 
     private final KubernetesClient kubernetesClient;
+    private final KafkaAccessOperatorConfig config;
     private InformerEventSource<Secret, KafkaAccess> kafkaAccessSecretEventSource;
+    private ShardLeaseManager shardLeaseManager;
     private final SecretDependentResource secretDependentResource;
+    private final OperatorMetrics metrics;
+    private final PropagationTracker propagationTracker;
     private final Map<String, String> commonSecretLabels = new HashMap<>();
     private static final String SECRET_TYPE = "servicebinding.io/kafka";
+    private static final String FIELD_MANAGER = "strimzi-access-operator";
     private static final Logger LOGGER = LoggerFactory.getLogger(KafkaAccessReconciler.class);
 
     /**
@@ -59,14 +79,57 @@ public class KafkaAccessReconciler implements Reconciler<KafkaAccess> {
     public static final String KAFKA_USER_SECRET_EVENT_SOURCE = "KAFKA_USER_SECRET_EVENT_SOURCE";
 
     /**
-     * Creates a new KafkaAccessReconciler.
+     * Creates a new KafkaAccessReconciler with the default configuration.
      *
      * @param kubernetesClient      The Kubernetes client
      */
     public KafkaAccessReconciler(final KubernetesClient kubernetesClient) {
+        this(kubernetesClient, KafkaAccessOperatorConfig.defaults());
+    }
+
+    /**
+     * Creates a new KafkaAccessReconciler.
+     *
+     * @param kubernetesClient      The Kubernetes client
+     * @param config                The operator configuration
+     */
+    public KafkaAccessReconciler(final KubernetesClient kubernetesClient, final KafkaAccessOperatorConfig config) {
+        this(kubernetesClient, config, Metrics.globalRegistry);
+    }
+
+    /**
+     * Creates a new KafkaAccessReconciler.
+     *
+     * @param kubernetesClient      The Kubernetes client
+     * @param config                The operator configuration
+     * @param meterRegistry         The meter registry the operator metrics are registered in
+     */
+    public KafkaAccessReconciler(final KubernetesClient kubernetesClient, final KafkaAccessOperatorConfig config, final MeterRegistry meterRegistry) {
         this.kubernetesClient = kubernetesClient;
-        secretDependentResource = new SecretDependentResource();
-        commonSecretLabels.put(KafkaAccessMapper.MANAGED_BY_LABEL_KEY, KafkaAccessMapper.KAFKA_ACCESS_LABEL_VALUE);
+        this.config = config;
+        this.metrics = new OperatorMetrics(meterRegistry);
+        this.propagationTracker = new PropagationTracker(meterRegistry);
+        secretDependentResource = new SecretDependentResource(config.getSecretDataCacheSize());
+        commonSecretLabels.put(KafkaAccessMapper.MANAGED_BY_LABEL_KEY, config.getSecretManagedBy());
+    }
+
+    /**
+     * Gets the tracker of the time the changes take to reach the KafkaAccess Secrets. Its primary resource filters have
+     * to be registered with the controller, so that the changes of the KafkaAccess resources are tracked as well.
+     *
+     * @return  The propagation tracker
+     */
+    public PropagationTracker getPropagationTracker() {
+        return propagationTracker;
+    }
+
+    /**
+     * Gets the class rendering the data of the Secrets.
+     *
+     * @return  The Secret dependent resource
+     */
+    SecretDependentResource getSecretDependentResource() {
+        return secretDependentResource;
     }
 
     /**
@@ -81,10 +144,22 @@ public class KafkaAccessReconciler implements Reconciler<KafkaAccess> {
     public UpdateControl<KafkaAccess> reconcile(final KafkaAccess kafkaAccess, final Context<KafkaAccess> context) {
         final String kafkaAccessName = kafkaAccess.getMetadata().getName();
         final String kafkaAccessNamespace = kafkaAccess.getMetadata().getNamespace();
+        final Map<Trigger, Long> triggers = propagationTracker.take(ResourceID.fromResource(kafkaAccess));
+        if (shardLeaseManager != null && !shardLeaseManager.owns(ResourceID.fromResource(kafkaAccess))) {
+            LOGGER.debug("KafkaAccess {}/{} belongs to a shard of another replica, skipping", kafkaAccessNamespace, kafkaAccessName);
+            return UpdateControl.noUpdate();
+        }
         LOGGER.info("Reconciling KafkaAccess {}/{}", kafkaAccessNamespace, kafkaAccessName);
         final String secretName = determineSecretName(kafkaAccess);
+        final KafkaAccessStatus previousStatus = KafkaAccessStatus.copyOf(kafkaAccess.getStatus());
 
-        createOrUpdateSecret(secretDependentResource.desired(kafkaAccess.getSpec(), kafkaAccessNamespace, context), kafkaAccess, secretName);
+        final String secretDigest;
+        try {
+            secretDigest = createOrUpdateSecret(secretDependentResource.desired(kafkaAccess, context), kafkaAccess, secretName, triggers);
+        } catch (RuntimeException e) {
+            propagationTracker.restore(ResourceID.fromResource(kafkaAccess), triggers);
+            throw e;
+        }
         deleteOldSecretIfRenamed(kafkaAccess.getStatus(), secretName, kafkaAccessNamespace, kafkaAccessName);
 
         final KafkaAccessStatus kafkaAccessStatus = Optional.ofNullable(kafkaAccess.getStatus())
@@ -97,11 +172,35 @@ public class KafkaAccessReconciler implements Reconciler<KafkaAccess> {
         kafkaAccessStatus.setBinding(new BindingStatus(secretName));
         kafkaAccessStatus.setReadyCondition(true, "Ready", "Ready");
         kafkaAccessStatus.setObservedGeneration(kafkaAccess.getMetadata().getGeneration());
+        kafkaAccessStatus.setSecretDigest(secretDigest);
+        if (statusUnchanged(previousStatus, kafkaAccessStatus, kafkaAccess)) {
+            return UpdateControl.noUpdate();
+        }
         return UpdateControl.patchStatus(kafkaAccess);
     }
 
-    private void createOrUpdateSecret(final Map<String, String> data, final KafkaAccess kafkaAccess, final String secretName) {
-        final String kafkaAccessName = kafkaAccess.getMetadata().getName();
+    /**
+     * Checks whether the reconciliation left the status as it was, in which case the status patch is skipped. The
+     * conditions are compared including their last transition time, which StatusUtils only moves when the condition
+     * status changes.
+     */
+    private boolean statusUnchanged(final KafkaAccessStatus previousStatus, final KafkaAccessStatus status, final KafkaAccess kafkaAccess) {
+        if (status.equals(previousStatus)) {
+            LOGGER.debug("Status of KafkaAccess {}/{} is unchanged, skipping the status patch",
+                    kafkaAccess.getMetadata().getNamespace(), kafkaAccess.getMetadata().getName());
+            metrics.statusSkipped();
+            return true;
+        }
+        metrics.statusPatched();
+        return false;
+    }
+
+    /**
+     * Creates or updates the Secret and records the propagation time of the triggers of the reconciliation when the
+     * Secret was written. Writes skipped because the Secret was up to date are counted.
+     */
+    private String createOrUpdateSecret(final Map<String, String> data, final KafkaAccess kafkaAccess, final String secretName,
+                                        final Map<Trigger, Long> triggers) {
         final String kafkaAccessNamespace = kafkaAccess.getMetadata().getNamespace();
         if (kafkaAccessSecretEventSource == null) {
             throw new IllegalStateException("Event source for Kafka Access Secret not initialized, cannot reconcile");
@@ -109,32 +208,56 @@ public class KafkaAccessReconciler implements Reconciler<KafkaAccess> {
 
         final Map<String, String> templateAnnotations = getTemplateAnnotations(kafkaAccess);
         final Map<String, String> templateLabels = getTemplateAndCommonLabels(kafkaAccess);
+        final String secretDigest = SecretDigest.of(data, templateLabels, templateAnnotations);
 
-        kafkaAccessSecretEventSource.get(new ResourceID(secretName, kafkaAccessNamespace))
-                .ifPresentOrElse(
-                    secret -> updateSecretIfChanged(secret, data, templateAnnotations, templateLabels, kafkaAccessNamespace, secretName),
-                    () -> createSecret(data, kafkaAccess, secretName, kafkaAccessNamespace, kafkaAccessName, templateAnnotations, templateLabels)
-            );
+        final boolean written = kafkaAccessSecretEventSource.get(new ResourceID(secretName, kafkaAccessNamespace))
+                .map(secret -> updateSecretIfChanged(secret, kafkaAccess, data, templateAnnotations, templateLabels, secretDigest))
+                .orElseGet(() -> {
+                    createSecret(buildSecret(kafkaAccess, secretName, SECRET_TYPE, data, templateLabels, withDigest(templateAnnotations, secretDigest)));
+                    return true;
+                });
+        if (written) {
+            metrics.secretWritten();
+            propagationTracker.secretWritten(triggers);
+        } else {
+            metrics.secretSkipped();
+        }
+        return secretDigest;
     }
 
-    private void updateSecretIfChanged(Secret secret, Map<String, String> data, Map<String, String> templateAnnotations,
-                                       Map<String, String> templateLabels, String namespace, String secretName) {
-        final Map<String, String> mergedAnnotations = mergeWithoutOverwritingCurrent(
-                Optional.ofNullable(secret.getMetadata().getAnnotations()).orElse(Map.of()),
-                templateAnnotations);
+    private boolean updateSecretIfChanged(Secret secret, KafkaAccess kafkaAccess, Map<String, String> data, Map<String, String> templateAnnotations,
+                                       Map<String, String> templateLabels, String secretDigest) {
+        final String namespace = secret.getMetadata().getNamespace();
+        final String secretName = secret.getMetadata().getName();
+        final Map<String, String> currentAnnotations = Optional.ofNullable(secret.getMetadata().getAnnotations()).orElse(Map.of());
+        // The digest only tells that the desired content did not change, the data is compared as well so that manual
+        // edits of the data are reverted
+        final boolean dataChanged = !data.equals(Optional.ofNullable(secret.getData()).orElse(Map.of()));
+        if (secretDigest.equals(currentAnnotations.get(SecretDigest.ANNOTATION))) {
+            if (!dataChanged) {
+                LOGGER.debug("Secret {}/{} is up to date with digest {}", namespace, secretName, secretDigest);
+                return false;
+            }
+            LOGGER.info("Data of Secret {}/{} was changed outside of the operator, restoring it", namespace, secretName);
+        }
+        final Map<String, String> currentLabels = Optional.ofNullable(secret.getMetadata().getLabels()).orElse(Map.of());
+
+        if (config.isSecretServerSideApply()) {
+            final Secret applied = applySecretUpdate(secret, kafkaAccess, data, templateLabels, templateAnnotations, secretDigest);
+            kafkaAccessSecretEventSource.handleRecentResourceUpdate(ResourceID.fromResource(applied), applied, secret);
+            return true;
+        }
 
-        final Map<String, String> mergedLabels = mergeWithoutOverwritingCurrent(
-                Optional.ofNullable(secret.getMetadata().getLabels()).orElse(Map.of()),
-                templateLabels);
+        final Map<String, String> mergedAnnotations = mergeWithoutOverwritingCurrent(currentAnnotations, templateAnnotations);
+        mergedAnnotations.put(SecretDigest.ANNOTATION, secretDigest);
 
-        final boolean dataChanged = !data.equals(Optional.ofNullable(secret.getData()).orElse(Map.of()));
-        final boolean annotationsChanged = !mergedAnnotations.equals(
-                Optional.ofNullable(secret.getMetadata().getAnnotations()).orElse(Map.of()));
-        final boolean labelsChanged = !mergedLabels.equals(
-                Optional.ofNullable(secret.getMetadata().getLabels()).orElse(Map.of()));
+        final Map<String, String> mergedLabels = mergeWithoutOverwritingCurrent(currentLabels, templateLabels);
+
+        final boolean annotationsChanged = !mergedAnnotations.equals(currentAnnotations);
+        final boolean labelsChanged = !mergedLabels.equals(currentLabels);
 
         if (dataChanged || annotationsChanged || labelsChanged) {
-            kubernetesClient.secrets()
+            final Secret updated = kubernetesClient.secrets()
                     .inNamespace(namespace)
                     .withName(secretName)
                     .edit(s -> new SecretBuilder(s)
@@ -144,7 +267,10 @@ public class KafkaAccessReconciler implements Reconciler<KafkaAccess> {
                                 .withLabels(mergedLabels)
                             .endMetadata()
                             .build());
+            kafkaAccessSecretEventSource.handleRecentResourceUpdate(ResourceID.fromResource(updated), updated, secret);
+            return true;
         }
+        return false;
     }
 
     private static Map<String, String> mergeWithoutOverwritingCurrent(Map<String, String> current, Map<String, String> template) {
@@ -153,33 +279,108 @@ public class KafkaAccessReconciler implements Reconciler<KafkaAccess> {
         return merged;
     }
 
-    private void createSecret(Map<String, String> data, KafkaAccess kafkaAccess, String secretName, String namespace,
-                              String kafkaAccessName, Map<String, String> templateAnnotations, Map<String, String> templateLabels) {
-        kubernetesClient
+    /**
+     * Applies the desired state to an existing Secret with server-side apply. The apply always carries the template
+     * labels and annotations owned by the operator, as the API server removes the fields that the field manager
+     * owned before and no longer sends. Only the keys owned by other field managers, for example after a user edited
+     * them, are left out, so that their values are not overwritten.
+     */
+    Secret applySecretUpdate(Secret secret, KafkaAccess kafkaAccess, Map<String, String> data, Map<String, String> templateLabels,
+                             Map<String, String> templateAnnotations, String secretDigest) {
+        final Map<String, String> labels = withoutKeys(templateLabels, keysOwnedByOtherManagers(secret, "f:labels"));
+        // The operator labels select the Secret in the informer, so they are always applied
+        labels.putAll(commonSecretLabels);
+        final Map<String, String> annotations = withoutKeys(templateAnnotations, keysOwnedByOtherManagers(secret, "f:annotations"));
+        return applySecret(buildSecret(kafkaAccess, secret.getMetadata().getName(), secret.getType(), data, labels,
+                withDigest(annotations, secretDigest)));
+    }
+
+    /**
+     * Gets the keys of the labels or annotations of a Secret which are owned by field managers other than the
+     * operator, as recorded in the managed fields of the Secret.
+     */
+    private static Set<String> keysOwnedByOtherManagers(Secret secret, String metadataField) {
+        final Set<String> keys = new HashSet<>();
+        Optional.ofNullable(secret.getMetadata().getManagedFields()).orElse(List.of()).stream()
+                .filter(managedFields -> !FIELD_MANAGER.equals(managedFields.getManager()) && managedFields.getFieldsV1() != null)
+                .map(managedFields -> managedFields.getFieldsV1().getAdditionalProperties().get("f:metadata"))
+                .filter(Map.class::isInstance)
+                .map(metadata -> ((Map<?, ?>) metadata).get(metadataField))
+                .filter(Map.class::isInstance)
+                .flatMap(fields -> ((Map<?, ?>) fields).keySet().stream())
+                .map(String::valueOf)
+                .filter(field -> field.startsWith("f:"))
+                .forEach(field -> keys.add(field.substring(2)));
+        return keys;
+    }
+
+    private static Map<String, String> withoutKeys(Map<String, String> entries, Set<String> keys) {
+        final Map<String, String> remaining = new HashMap<>(entries);
+        remaining.keySet().removeAll(keys);
+        return remaining;
+    }
+
+    private static Map<String, String> withDigest(Map<String, String> annotations, String secretDigest) {
+        final Map<String, String> annotationsWithDigest = new HashMap<>(annotations);
+        annotationsWithDigest.put(SecretDigest.ANNOTATION, secretDigest);
+        return annotationsWithDigest;
+    }
+
+    /**
+     * Creates the Secret and puts the created Secret in the temporary cache of the event source, so that the next
+     * reconciliation finds it even if the informer has not received the event for it yet and does not try to create
+     * it again.
+     */
+    private void createSecret(Secret secret) {
+        final Secret created;
+        if (config.isSecretServerSideApply()) {
+            created = applySecret(secret);
+        } else {
+            created = kubernetesClient
+                    .secrets()
+                    .inNamespace(secret.getMetadata().getNamespace())
+                    .resource(secret)
+                    .create();
+        }
+        kafkaAccessSecretEventSource.handleRecentResourceCreate(ResourceID.fromResource(created), created);
+    }
+
+    /**
+     * Writes the Secret with server-side apply. The apply covers both creating and updating the Secret, and the
+     * operator field manager only owns the data keys, labels, annotations and owner reference that it sends.
+     */
+    private Secret applySecret(Secret secret) {
+        return kubernetesClient
                 .secrets()
-                .inNamespace(namespace)
-                .resource(
-                        new SecretBuilder()
-                                .withType(SECRET_TYPE)
-                                .withNewMetadata()
-                                .withName(secretName)
-                                .withLabels(templateLabels)
-                                .withAnnotations(templateAnnotations)
-                                .withOwnerReferences(
-                                        new OwnerReferenceBuilder()
-                                                .withApiVersion(kafkaAccess.getApiVersion())
-                                                .withKind(kafkaAccess.getKind())
-                                                .withName(kafkaAccessName)
-                                                .withUid(kafkaAccess.getMetadata().getUid())
-                                                .withBlockOwnerDeletion(false)
-                                                .withController(false)
-                                                .build()
-                                )
-                                .endMetadata()
-                                .withData(data)
-                                .build()
-                )
-                .create();
+                .inNamespace(secret.getMetadata().getNamespace())
+                .resource(secret)
+                .fieldManager(FIELD_MANAGER)
+                .forceConflicts()
+                .serverSideApply();
+    }
+
+    private static Secret buildSecret(KafkaAccess kafkaAccess, String secretName, String type, Map<String, String> data,
+                                      Map<String, String> labels, Map<String, String> annotations) {
+        return new SecretBuilder()
+                .withType(type)
+                .withNewMetadata()
+                    .withName(secretName)
+                    .withNamespace(kafkaAccess.getMetadata().getNamespace())
+                    .withLabels(labels)
+                    .withAnnotations(annotations)
+                    .withOwnerReferences(
+                            new OwnerReferenceBuilder()
+                                    .withApiVersion(kafkaAccess.getApiVersion())
+                                    .withKind(kafkaAccess.getKind())
+                                    .withName(kafkaAccess.getMetadata().getName())
+                                    .withUid(kafkaAccess.getMetadata().getUid())
+                                    .withBlockOwnerDeletion(false)
+                                    .withController(false)
+                                    .build()
+                    )
+                .endMetadata()
+                .withData(data)
+                .build();
     }
 
     /**
@@ -228,45 +429,84 @@ public class KafkaAccessReconciler implements Reconciler<KafkaAccess> {
      */
     public List<EventSource<?, KafkaAccess>> prepareEventSources(EventSourceContext<KafkaAccess> context) {
         LOGGER.info("Preparing event sources");
-        InformerEventSourceConfiguration<Kafka> kafkaEventSource =
+        KafkaAccessMapper.addIndexers(context.getPrimaryCache());
+        // The events of the Kafka clusters and the Strimzi Secrets fan out to many KafkaAccess resources, so they are debounced
+        final DebouncingEventSource debouncingEventSource = new DebouncingEventSource(config.getEventDebounceWindow(), config.getEventDebounceMaxDelay());
+        InformerEventSourceConfiguration<Kafka> kafkaEventSource = new TransformingInformerConfiguration<>(
                 InformerEventSourceConfiguration.from(Kafka.class, KafkaAccess.class)
-                        .withSecondaryToPrimaryMapper(kafka -> KafkaAccessMapper.kafkaSecondaryToPrimaryMapper(context.getPrimaryCache().list(), kafka))
+                        .withSecondaryToPrimaryMapper(kafka -> debouncingEventSource.debounce(
+                                propagationTracker.observed(Trigger.KAFKA, KafkaAccessMapper.kafkaSecondaryToPrimaryMapper(context.getPrimaryCache(), kafka))))
                         .withPrimaryToSecondaryMapper(kafkaAccess -> KafkaAccessMapper.kafkaPrimaryToSecondaryMapper((KafkaAccess) kafkaAccess))
-                        .build();
-        InformerEventSourceConfiguration<KafkaUser> kafkaUserEventSource =
+                        .withNamespaces(config.getKafkaNamespaces())
+                        .withOnUpdateFilter(EventFilters::kafkaListenersChanged)
+                        .build(),
+                InformerTransforms::projectKafka);
+        InformerEventSourceConfiguration<KafkaUser> kafkaUserEventSource = new TransformingInformerConfiguration<>(
                 InformerEventSourceConfiguration.from(KafkaUser.class, KafkaAccess.class)
-                        .withSecondaryToPrimaryMapper(kafkaUser -> KafkaAccessMapper.kafkaUserSecondaryToPrimaryMapper(context.getPrimaryCache().list(), kafkaUser))
+                        .withSecondaryToPrimaryMapper(kafkaUser -> propagationTracker.observed(Trigger.KAFKA_USER,
+                                KafkaAccessMapper.kafkaUserSecondaryToPrimaryMapper(context.getPrimaryCache(), kafkaUser)))
                         .withPrimaryToSecondaryMapper(kafkaAccess -> KafkaAccessMapper.kafkaUserPrimaryToSecondaryMapper((KafkaAccess) kafkaAccess))
-                        .build();
-        InformerEventSourceConfiguration<Secret> strimziSecretEventSource =
+                        .withNamespaces(config.getKafkaNamespaces())
+                        .withOnUpdateFilter(EventFilters::kafkaUserAuthenticationChanged)
+                        .build(),
+                InformerTransforms::projectKafkaUser);
+        final InformerEventSource<KafkaUser, KafkaAccess> kafkaUserInformerEventSource = new InformerEventSource<>(kafkaUserEventSource, context);
+        KafkaAccessMapper.addKafkaUserIndexers(kafkaUserInformerEventSource);
+        InformerEventSourceConfiguration<Secret> strimziSecretEventSource = new TransformingInformerConfiguration<>(
                 InformerEventSourceConfiguration.from(Secret.class, KafkaAccess.class)
                         .withName(STRIMZI_SECRET_EVENT_SOURCE)
-                        .withLabelSelector(String.format("%s=%s", KafkaAccessMapper.MANAGED_BY_LABEL_KEY, KafkaAccessMapper.STRIMZI_CLUSTER_LABEL_VALUE))
-                        .withSecondaryToPrimaryMapper(secret -> KafkaAccessMapper.secretSecondaryToPrimaryMapper(context.getPrimaryCache().list(), secret))
-                        .build();
-        InformerEventSourceConfiguration<Secret> strimziKafkaUserSecretEventSource =
+                        .withLabelSelector(kafkaSecretLabelSelector(KafkaAccessMapper.STRIMZI_CLUSTER_LABEL_VALUE))
+                        .withNamespaces(config.getKafkaNamespaces())
+                        .withGenericFilter(EventFilters::isClusterCaCertSecret)
+                        .withOnUpdateFilter(EventFilters::caCertChanged)
+                        .withSecondaryToPrimaryMapper(secret -> debouncingEventSource.debounce(
+                                propagationTracker.observed(Trigger.CA_SECRET, KafkaAccessMapper.secretSecondaryToPrimaryMapper(context.getPrimaryCache(), secret))))
+                        .build(),
+                InformerTransforms::pruneStrimziSecret);
+        InformerEventSourceConfiguration<Secret> strimziKafkaUserSecretEventSource = new TransformingInformerConfiguration<>(
                 InformerEventSourceConfiguration.from(Secret.class, KafkaAccess.class)
                         .withName(KAFKA_USER_SECRET_EVENT_SOURCE)
-                        .withLabelSelector(String.format("%s=%s", KafkaAccessMapper.MANAGED_BY_LABEL_KEY, KafkaAccessMapper.STRIMZI_USER_LABEL_VALUE))
-                        .withSecondaryToPrimaryMapper(secret -> KafkaAccessMapper.secretSecondaryToPrimaryMapper(context.getPrimaryCache().list(), secret))
-                        .build();
+                        .withLabelSelector(kafkaSecretLabelSelector(KafkaAccessMapper.STRIMZI_USER_LABEL_VALUE))
+                        .withNamespaces(config.getKafkaNamespaces())
+                        .withSecondaryToPrimaryMapper(secret -> debouncingEventSource.debounce(propagationTracker.observed(Trigger.USER_SECRET,
+                                KafkaAccessMapper.kafkaUserSecretSecondaryToPrimaryMapper(context.getPrimaryCache(), kafkaUserInformerEventSource, secret))))
+                        .build(),
+                InformerTransforms::pruneKafkaUserSecret);
         kafkaAccessSecretEventSource = new InformerEventSource<>(
                 InformerEventSourceConfiguration.from(Secret.class, KafkaAccess.class)
-                        .withLabelSelector(String.format("%s=%s", KafkaAccessMapper.MANAGED_BY_LABEL_KEY, KafkaAccessMapper.KAFKA_ACCESS_LABEL_VALUE))
-                        .withSecondaryToPrimaryMapper(secret -> KafkaAccessMapper.secretSecondaryToPrimaryMapper(context.getPrimaryCache().list(), secret))
+                        .withLabelSelector(String.format("%s=%s", KafkaAccessMapper.MANAGED_BY_LABEL_KEY, config.getSecretManagedBy()))
+                        .withNamespacesInheritedFromController()
+                        .withSecondaryToPrimaryMapper(KafkaAccessMapper::kafkaAccessSecretSecondaryToPrimaryMapper)
                         .build(),
                 context);
-        LOGGER.info("Finished preparing event sources");
-        return List.of(
+        final List<EventSource<?, KafkaAccess>> eventSources = new ArrayList<>(List.of(
                 new InformerEventSource<>(kafkaEventSource, context),
-                new InformerEventSource<>(kafkaUserEventSource, context),
+                kafkaUserInformerEventSource,
                 new InformerEventSource<>(strimziSecretEventSource, context),
                 new InformerEventSource<>(strimziKafkaUserSecretEventSource, context),
-                kafkaAccessSecretEventSource);
+                kafkaAccessSecretEventSource,
+                debouncingEventSource,
+                new PrimaryDeletionEventSource(secretDependentResource::evict)));
+        if (config.isSharded()) {
+            shardLeaseManager = new ShardLeaseManager(kubernetesClient, config, context.getPrimaryCache(), metrics.getRegistry());
+            eventSources.add(shardLeaseManager);
+        }
+        LOGGER.info("Finished preparing event sources");
+        return eventSources;
+    }
+
+    /**
+     * Creates the label selector of the Secrets managed by a Strimzi operator, narrowed down by the configured selector
+     * when several instances of the operator watch separate sets of Secrets.
+     */
+    private String kafkaSecretLabelSelector(final String managedBy) {
+        final String selector = String.format("%s=%s", KafkaAccessMapper.MANAGED_BY_LABEL_KEY, managedBy);
+        return config.getKafkaSecretLabelSelector() == null ? selector : selector + "," + config.getKafkaSecretLabelSelector();
     }
 
     @Override
     public ErrorStatusUpdateControl<KafkaAccess> updateErrorStatus(KafkaAccess kafkaAccess, Context<KafkaAccess> context, Exception e) {
+        final KafkaAccessStatus previousStatus = KafkaAccessStatus.copyOf(kafkaAccess.getStatus());
         final KafkaAccessStatus status = Optional.ofNullable(kafkaAccess.getStatus())
                 .orElseGet(() -> {
                     final KafkaAccessStatus newStatus = new KafkaAccessStatus();
@@ -282,6 +522,9 @@ public class KafkaAccessReconciler implements Reconciler<KafkaAccess> {
         status.setReadyCondition(false, e.getMessage(), reason);
         status.setObservedGeneration(kafkaAccess.getMetadata().getGeneration());
 
+        if (statusUnchanged(previousStatus, status, kafkaAccess)) {
+            return ErrorStatusUpdateControl.noStatusUpdate();
+        }
         return ErrorStatusUpdateControl.patchStatus(kafkaAccess);
     }
 
@@ -4,6 +4,8 @@
  */
 package io.strimzi.kafka.access;
 
+import io.fabric8.kubernetes.api.model.HasMetadata;
+import io.fabric8.kubernetes.api.model.ObjectMeta;
 import io.fabric8.kubernetes.api.model.Secret;
 import io.javaoperatorsdk.operator.api.reconciler.Context;
 import io.javaoperatorsdk.operator.processing.event.ResourceID;
@@ -19,6 +21,7 @@ import io.strimzi.kafka.access.internal.KafkaListener;
 import io.strimzi.kafka.access.internal.KafkaParser;
 import io.strimzi.kafka.access.internal.KafkaUserData;
 import io.strimzi.kafka.access.internal.MissingKubernetesResourceException;
+import io.strimzi.kafka.access.internal.VersionedCache;
 import io.strimzi.kafka.access.model.KafkaAccess;
 import io.strimzi.kafka.access.model.KafkaAccessSpec;
 import io.strimzi.kafka.access.model.KafkaReference;
@@ -28,6 +31,7 @@ import org.slf4j.LoggerFactory;
 
 import java.nio.charset.StandardCharsets;
 import java.util.Base64;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
@@ -45,33 +49,78 @@ public class SecretDependentResource {
     private static final String PROVIDER_SECRET_KEY = "provider";
     private static final String PROVIDER_SECRET_VALUE = "strimzi";
     private final Map<String, String> commonSecretData = new HashMap<>();
+    private final VersionedCache<ResourceID, Map<String, String>> renderedSecretData;
 
     private static final Logger LOGGER = LoggerFactory.getLogger(SecretDependentResource.class);
 
     /**
-     * Default constructor that initialises the common secret data
+     * Default constructor that initialises the common secret data and the cache of rendered Secret data with the
+     * default size
      */
     public SecretDependentResource() {
+        this(KafkaAccessOperatorConfig.defaults().getSecretDataCacheSize());
+    }
+
+    /**
+     * Constructor that initialises the common secret data and the cache of rendered Secret data. The entry of a
+     * KafkaAccess resource is evicted when the resource is deleted, or when the least recently used entry has to
+     * make room for a new one.
+     *
+     * @param cacheSize     The maximum number of KafkaAccess resources for which the rendered Secret data is cached
+     */
+    public SecretDependentResource(final int cacheSize) {
+        renderedSecretData = new VersionedCache<>(cacheSize);
         final Base64.Encoder encoder = Base64.getEncoder();
         commonSecretData.put(TYPE_SECRET_KEY, encoder.encodeToString(TYPE_SECRET_VALUE.getBytes(StandardCharsets.UTF_8)));
         commonSecretData.put(PROVIDER_SECRET_KEY, encoder.encodeToString(PROVIDER_SECRET_VALUE.getBytes(StandardCharsets.UTF_8)));
     }
 
     /**
-     * The desired state of the data in the secret
-     * @param spec          The spec of the KafkaAccess resource being reconciled
-     * @param namespace     The namespace of the KafkaAccess resource being reconciled
+     * The desired state of the data in the secret, reusing the data rendered by a previous call for the same
+     * KafkaAccess resource if neither its generation nor the resourceVersions of the Kafka, KafkaUser, KafkaUser
+     * Secret and cluster CA certificate Secret it was rendered from have changed since.
+     *
+     * @param kafkaAccess   The KafkaAccess resource being reconciled
      * @param context       The event source context
-     * @return              The data for the Secret as a Map
+     * @return              The data for the Secret as an unmodifiable Map
      */
-    public Map<String, String> desired(final KafkaAccessSpec spec, final String namespace, final Context<KafkaAccess> context) {
+    public Map<String, String> desired(final KafkaAccess kafkaAccess, final Context<KafkaAccess> context) {
+        final KafkaAccessSpec spec = kafkaAccess.getSpec();
+        final SecretInputs inputs = resolveInputs(spec, kafkaAccess.getMetadata().getNamespace(), context);
+        final String version = String.join("/",
+                String.valueOf(kafkaAccess.getMetadata().getGeneration()),
+                resourceVersion(inputs.kafka()),
+                resourceVersion(inputs.kafkaUser()),
+                resourceVersion(inputs.kafkaUserSecret()),
+                resourceVersion(inputs.caCertSecret()));
+        return renderedSecretData.get(ResourceID.fromResource(kafkaAccess), version, () -> Collections.unmodifiableMap(render(spec, inputs)));
+    }
+
+    /**
+     * Removes the data rendered for a KafkaAccess resource, called once the resource is deleted.
+     *
+     * @param kafkaAccess   The ID of the deleted KafkaAccess resource
+     */
+    public void evict(final ResourceID kafkaAccess) {
+        renderedSecretData.remove(kafkaAccess);
+    }
+
+    /**
+     * Gets the number of KafkaAccess resources whose rendered Secret data is cached.
+     *
+     * @return  The number of cached entries
+     */
+    int cachedResources() {
+        return renderedSecretData.size();
+    }
+
+    private SecretInputs resolveInputs(final KafkaAccessSpec spec, final String namespace, final Context<KafkaAccess> context) {
         final KafkaReference kafkaReference = spec.getKafka();
         final String kafkaClusterName = kafkaReference.getName();
         final String kafkaClusterNamespace = Optional.ofNullable(kafkaReference.getNamespace()).orElse(namespace);
         final Kafka kafka = context.getSecondaryResource(Kafka.class).orElseThrow(missingKubernetesResourceException("Kafka", kafkaClusterNamespace, kafkaClusterName));
-        final Map<String, String> data  = new HashMap<>(commonSecretData);
-        final KafkaListener listener;
-        String kafkaUserType = null;
+        KafkaUser kafkaUser = null;
+        Secret kafkaUserSecret = null;
         final Optional<KafkaUserReference> kafkaUserReference = Optional.ofNullable(spec.getUser());
         if (kafkaUserReference.isPresent()) {
             if (!KafkaUser.RESOURCE_KIND.equals(kafkaUserReference.get().getKind()) || !KafkaUser.RESOURCE_GROUP.equals(kafkaUserReference.get().getApiGroup())) {
@@ -79,47 +128,64 @@ public class SecretDependentResource {
             }
             final String kafkaUserName = kafkaUserReference.get().getName();
             final String kafkaUserNamespace = Optional.ofNullable(kafkaUserReference.get().getNamespace()).orElse(namespace);
-            final KafkaUser kafkaUser = context.getSecondaryResource(KafkaUser.class).orElseThrow(missingKubernetesResourceException("KafkaUser", kafkaUserNamespace, kafkaUserName));
-            kafkaUserType = Optional.ofNullable(kafkaUser.getSpec())
+            kafkaUser = context.getSecondaryResource(KafkaUser.class).orElseThrow(missingKubernetesResourceException("KafkaUser", kafkaUserNamespace, kafkaUserName));
+            kafkaUserSecret = getKafkaUserSecret(context, kafkaUser, kafkaUserName, kafkaUserNamespace);
+        }
+        return new SecretInputs(kafka, kafkaUser, kafkaUserSecret, getKafkaCaCertSecret(context, kafkaClusterName, kafkaClusterNamespace));
+    }
+
+    private Map<String, String> render(final KafkaAccessSpec spec, final SecretInputs inputs) {
+        final Map<String, String> data  = new HashMap<>(commonSecretData);
+        final KafkaListener listener;
+        String kafkaUserType = null;
+        if (inputs.kafkaUser() != null) {
+            kafkaUserType = Optional.ofNullable(inputs.kafkaUser().getSpec())
                     .map(KafkaUserSpec::getAuthentication)
                     .map(KafkaUserAuthentication::getType)
                     .orElse(KafkaParser.USER_AUTH_UNDEFINED);
-            data.putAll(getKafkaUserSecretData(context, kafkaUser, kafkaUserName, kafkaUserNamespace));
+            data.putAll(new KafkaUserData(inputs.kafkaUser()).withSecret(inputs.kafkaUserSecret()).getConnectionSecretData());
         }
         try {
-            listener = KafkaParser.getKafkaListener(kafka, spec, kafkaUserType);
+            listener = KafkaParser.getKafkaListener(inputs.kafka(), spec, kafkaUserType);
         } catch (CustomResourceParseException e) {
             LOGGER.error("Reconcile failed due to ParserException {}", e.getMessage(), e);
             throw e;
         }
         if (listener.isTls()) {
-            listener.withCaCertSecret(getKafkaCaCertData(context, kafkaClusterName, kafkaClusterNamespace));
+            listener.withCaCertSecret(Optional.ofNullable(inputs.caCertSecret()).map(Secret::getData).orElse(Map.of()));
         }
         data.putAll(listener.getConnectionSecretData());
         return data;
     }
 
-    private Map<String, String> getKafkaUserSecretData(final Context<KafkaAccess> context, final KafkaUser kafkaUser, final String kafkaUserName, final String kafkaUserNamespace) {
+    private Secret getKafkaUserSecret(final Context<KafkaAccess> context, final KafkaUser kafkaUser, final String kafkaUserName, final String kafkaUserNamespace) {
         final String userSecretName = Optional.ofNullable(kafkaUser.getStatus())
                 .map(KafkaUserStatus::getSecret)
                 .orElseThrow(missingKubernetesResourceException("Secret in KafkaUser status", kafkaUserNamespace, kafkaUserName));
         final InformerEventSource<Secret, KafkaAccess> kafkaUserSecretEventSource = (InformerEventSource<Secret, KafkaAccess>) context.eventSourceRetriever()
                 .getEventSourceFor(Secret.class, KafkaAccessReconciler.KAFKA_USER_SECRET_EVENT_SOURCE);
-        final Secret kafkaUserSecret = kafkaUserSecretEventSource.get(new ResourceID(userSecretName, kafkaUserNamespace))
+        return kafkaUserSecretEventSource.get(new ResourceID(userSecretName, kafkaUserNamespace))
                 .orElseThrow(missingKubernetesResourceException(String.format("Secret %s for KafkaUser", userSecretName), kafkaUserNamespace, kafkaUserName));
-        return new KafkaUserData(kafkaUser).withSecret(kafkaUserSecret).getConnectionSecretData();
     }
 
-    private Map<String, String> getKafkaCaCertData(final Context<KafkaAccess> context, String kafkaClusterName, String kafkaClusterNamespace) {
+    private Secret getKafkaCaCertSecret(final Context<KafkaAccess> context, String kafkaClusterName, String kafkaClusterNamespace) {
         final String caCertSecretName = KafkaResources.clusterCaCertificateSecretName(kafkaClusterName);
         final InformerEventSource<Secret, KafkaAccess> strimziSecretEventSource = (InformerEventSource<Secret, KafkaAccess>) context.eventSourceRetriever()
                 .getEventSourceFor(Secret.class, KafkaAccessReconciler.STRIMZI_SECRET_EVENT_SOURCE);
         return strimziSecretEventSource.get(new ResourceID(caCertSecretName, kafkaClusterNamespace))
-                .map(Secret::getData)
-                .orElse(Map.of());
+                .orElse(null);
+    }
+
+    private static String resourceVersion(final HasMetadata resource) {
+        return Optional.ofNullable(resource)
+                .map(HasMetadata::getMetadata)
+                .map(ObjectMeta::getResourceVersion)
+                .orElse("");
     }
 
     private static Supplier<MissingKubernetesResourceException> missingKubernetesResourceException(String type, String namespace, String name) {
         return () -> new MissingKubernetesResourceException(String.format("%s %s/%s missing", type, namespace, name));
     }
+
+    private record SecretInputs(Kafka kafka, KafkaUser kafkaUser, Secret kafkaUserSecret, Secret caCertSecret) { }
 }
@@ -0,0 +1,223 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.strimzi.kafka.access.internal;
+
+import io.fabric8.kubernetes.client.http.AsyncBody;
+import io.fabric8.kubernetes.client.http.BasicBuilder;
+import io.fabric8.kubernetes.client.http.HttpRequest;
+import io.fabric8.kubernetes.client.http.HttpResponse;
+import io.fabric8.kubernetes.client.http.Interceptor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * HTTP client interceptor counting the requests of the Kubernetes client and timing them, by the Kubernetes API verb,
+ * the resource and the response code. It covers the requests of the reconciler, the informers and the status patches
+ * of the Operator SDK, as they all share the client. The time is measured until the response headers arrive, which
+ * for the watches is the time it took to open them.
+ *
+ * The start time travels with the request in a header set before it is sent, so nothing is kept for the requests
+ * which never complete. The requests failing without a response are only counted, as the HTTP client passes the
+ * request it had before the interceptors ran to the connection failure callback. The meters are built once per
+ * combination of tags and reused.
+ */
+public class ApiRequestMetrics implements Interceptor {
+
+    /**
+     * Name of the interceptor in the HTTP client
+     */
+    public static final String NAME = "strimzi-api-request-metrics";
+
+    /**
+     * Name of the timer of the Kubernetes API requests, tagged by verb, resource and response code
+     */
+    public static final String API_REQUESTS = "strimzi.access.api.requests";
+
+    /**
+     * Name of the verb tag
+     */
+    public static final String VERB_TAG = "verb";
+
+    /**
+     * Name of the resource tag
+     */
+    public static final String RESOURCE_TAG = "resource";
+
+    /**
+     * Name of the response code tag
+     */
+    public static final String CODE_TAG = "code";
+
+    /**
+     * Name of the counter of the Kubernetes API requests which failed without a response, tagged by verb and resource
+     */
+    public static final String API_CONNECTION_FAILURES = "strimzi.access.api.connection.failures";
+
+    /**
+     * Name of the header carrying the time the request was sent at, in the nanoseconds of the operator JVM
+     */
+    static final String START_HEADER = "X-Strimzi-Request-Start";
+
+    private final MeterRegistry registry;
+    private final LongSupplier nanoTime;
+    private final Map<MeterKey, Timer> timers = new ConcurrentHashMap<>();
+    private final Map<MeterKey, Counter> connectionFailures = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a new ApiRequestMetrics interceptor.
+     *
+     * @param registry  The meter registry the request timers are registered in
+     */
+    public ApiRequestMetrics(final MeterRegistry registry) {
+        this(registry, System::nanoTime);
+    }
+
+    ApiRequestMetrics(final MeterRegistry registry, final LongSupplier nanoTime) {
+        this.registry = registry;
+        this.nanoTime = nanoTime;
+    }
+
+    @Override
+    public void before(final BasicBuilder builder, final HttpRequest request, final RequestTags tags) {
+        // Replaces the header of a previous attempt when the request is retried
+        builder.setHeader(START_HEADER, Long.toString(nanoTime.getAsLong()));
+    }
+
+    @Override
+    public void after(final HttpRequest request, final HttpResponse<?> response, final AsyncBody.Consumer<List<ByteBuffer>> consumer) {
+        final long now = nanoTime.getAsLong();
+        final Long start = startTime(request);
+        if (start == null) {
+            return;
+        }
+        final URI uri = request.uri();
+        timers.computeIfAbsent(new MeterKey(verb(request.method(), uri), resource(uri.getPath()), String.valueOf(response.code())), this::newTimer)
+                .record(now - start, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void afterConnectionFailure(final HttpRequest request, final Throwable failure) {
+        final URI uri = request.uri();
+        connectionFailures.computeIfAbsent(new MeterKey(verb(request.method(), uri), resource(uri.getPath()), null), this::newConnectionFailureCounter)
+                .increment();
+    }
+
+    private static Long startTime(final HttpRequest request) {
+        final String start = request.header(START_HEADER);
+        if (start == null) {
+            return null;
+        }
+        try {
+            return Long.parseLong(start);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private Timer newTimer(final MeterKey key) {
+        return Timer.builder(API_REQUESTS)
+                .description("Requests to the Kubernetes API, by verb, resource and response code")
+                .tag(VERB_TAG, key.verb())
+                .tag(RESOURCE_TAG, key.resource())
+                .tag(CODE_TAG, key.code())
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofMillis(1))
+                .maximumExpectedValue(Duration.ofSeconds(30))
+                .register(registry);
+    }
+
+    private Counter newConnectionFailureCounter(final MeterKey key) {
+        return Counter.builder(API_CONNECTION_FAILURES)
+                .description("Requests to the Kubernetes API which failed without a response, by verb and resource")
+                .tag(VERB_TAG, key.verb())
+                .tag(RESOURCE_TAG, key.resource())
+                .register(registry);
+    }
+
+    /**
+     * Gets the Kubernetes API verb of a request, which tells the reads of a single resource from the list and watch
+     * requests of the collections.
+     *
+     * @param method    The HTTP method
+     * @param uri       The URI of the request
+     *
+     * @return  The verb, such as get, list, watch, create, update, patch, delete or deletecollection, or the HTTP
+     *          method for the paths which are not Kubernetes API resources
+     */
+    static String verb(final String method, final URI uri) {
+        final int depth = resourcePath(uri.getPath()).length;
+        if (depth == 0) {
+            return method.toLowerCase(Locale.ROOT);
+        }
+        final boolean collection = depth == 1;
+        return switch (method) {
+            case "GET" -> collection ? collectionRead(uri) : "get";
+            case "POST" -> "create";
+            case "PUT" -> "update";
+            case "PATCH" -> "patch";
+            case "DELETE" -> collection ? "deletecollection" : "delete";
+            default -> method.toLowerCase(Locale.ROOT);
+        };
+    }
+
+    private static String collectionRead(final URI uri) {
+        return uri.getQuery() != null && uri.getQuery().contains("watch=true") ? "watch" : "list";
+    }
+
+    /**
+     * Gets the resource of a request path, with the subresource if there is one, for example secrets or
+     * kafkaaccesses/status.
+     *
+     * @param path  The path of the request
+     *
+     * @return  The resource, or unknown if the path is not a Kubernetes API resource path
+     */
+    static String resource(final String path) {
+        final String[] resourcePath = resourcePath(path);
+        if (resourcePath.length == 0) {
+            return "unknown";
+        }
+        return resourcePath.length > 2 ? resourcePath[0] + "/" + resourcePath[2] : resourcePath[0];
+    }
+
+    /**
+     * Splits a request path into the resource, the name and the subresource, dropping the API group and version and
+     * the namespace.
+     */
+    private static String[] resourcePath(final String path) {
+        final String[] segments = path == null ? new String[0] : path.replaceAll("^/+", "").split("/");
+        int start;
+        if (segments.length > 1 && "api".equals(segments[0])) {
+            start = 2;
+        } else if (segments.length > 2 && "apis".equals(segments[0])) {
+            start = 3;
+        } else {
+            return new String[0];
+        }
+        // Namespaced resources, but not the namespaces themselves
+        if (segments.length > start + 2 && "namespaces".equals(segments[start])) {
+            start += 2;
+        }
+        if (segments.length <= start) {
+            return new String[0];
+        }
+        final String[] resourcePath = new String[segments.length - start];
+        System.arraycopy(segments, start, resourcePath, 0, resourcePath.length);
+        return resourcePath;
+    }
+
+    private record MeterKey(String verb, String resource, String code) { }
+}
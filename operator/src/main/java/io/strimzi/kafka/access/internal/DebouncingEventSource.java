@@ -0,0 +1,141 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.strimzi.kafka.access.internal;
+
+import io.javaoperatorsdk.operator.OperatorException;
+import io.javaoperatorsdk.operator.processing.event.Event;
+import io.javaoperatorsdk.operator.processing.event.ResourceID;
+import io.javaoperatorsdk.operator.processing.event.source.AbstractEventSource;
+import io.strimzi.kafka.access.model.KafkaAccess;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Event source that merges the events fanned out from a Kafka cluster, its CA certificate Secret and the KafkaUser
+ * Secrets to the KafkaAccess resources. The secondary to primary mappers pass the affected KafkaAccess resources to
+ * {@link #debounce(Set)} instead of triggering them directly. Each KafkaAccess is then reconciled once, after no
+ * further event arrived for it within the debounce window, but no later than the maximum delay after its first event.
+ */
+public class DebouncingEventSource extends AbstractEventSource<Void, KafkaAccess> {
+
+    /**
+     * Name of the event source
+     */
+    public static final String NAME = "DEBOUNCING_EVENT_SOURCE";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(DebouncingEventSource.class);
+
+    private final long windowNanos;
+    private final long maxDelayNanos;
+    private final Map<ResourceID, PendingEvent> pendingEvents = new HashMap<>();
+    private ScheduledExecutorService executor;
+
+    /**
+     * Creates a new DebouncingEventSource.
+     *
+     * @param window    The time to wait for further events after an event, events are not debounced if it is zero
+     * @param maxDelay  The maximum time an event is delayed for
+     */
+    public DebouncingEventSource(final Duration window, final Duration maxDelay) {
+        super(Void.class, NAME);
+        this.windowNanos = window.toNanos();
+        this.maxDelayNanos = Math.max(windowNanos, maxDelay.toNanos());
+    }
+
+    /**
+     * Delays the events for the KafkaAccess resources to the end of their debounce window.
+     *
+     * @param primaryResourceIDs    The KafkaAccess resources affected by an event of a secondary resource
+     *
+     * @return  The KafkaAccess resources to trigger right away, which are all of them if the events are not debounced
+     *          or the event source is not running yet, and none otherwise
+     */
+    public synchronized Set<ResourceID> debounce(final Set<ResourceID> primaryResourceIDs) {
+        if (windowNanos <= 0 || !isRunning()) {
+            return primaryResourceIDs;
+        }
+        primaryResourceIDs.forEach(this::schedule);
+        return Set.of();
+    }
+
+    private synchronized void schedule(final ResourceID primaryResourceID) {
+        final long now = System.nanoTime();
+        final PendingEvent previous = pendingEvents.get(primaryResourceID);
+        final long firstEventNanos;
+        if (previous == null) {
+            firstEventNanos = now;
+        } else {
+            firstEventNanos = previous.firstEventNanos;
+            previous.future.cancel(false);
+        }
+        final long delayNanos = Math.min(now + windowNanos, firstEventNanos + maxDelayNanos) - now;
+        // The lock is held until the future is set, so the scheduled task cannot see the event before that
+        final PendingEvent pendingEvent = new PendingEvent(firstEventNanos);
+        pendingEvent.future = executor.schedule(() -> fire(primaryResourceID, pendingEvent), delayNanos, TimeUnit.NANOSECONDS);
+        pendingEvents.put(primaryResourceID, pendingEvent);
+    }
+
+    private void fire(final ResourceID primaryResourceID, final PendingEvent pendingEvent) {
+        synchronized (this) {
+            if (pendingEvents.get(primaryResourceID) != pendingEvent) {
+                return;
+            }
+            pendingEvents.remove(primaryResourceID);
+        }
+        LOGGER.debug("Debounce window of KafkaAccess {} ended, triggering the reconciliation", primaryResourceID);
+        getEventHandler().handleEvent(new Event(primaryResourceID));
+    }
+
+    /**
+     * Gets the number of KafkaAccess resources with a pending event.
+     *
+     * @return  The number of pending events
+     */
+    public synchronized int pendingEvents() {
+        return pendingEvents.size();
+    }
+
+    @Override
+    public Set<Void> getSecondaryResources(final KafkaAccess primary) {
+        return Set.of();
+    }
+
+    @Override
+    public synchronized void start() throws OperatorException {
+        executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            final Thread thread = new Thread(runnable, "debouncing-event-source");
+            thread.setDaemon(true);
+            return thread;
+        });
+        super.start();
+    }
+
+    @Override
+    public synchronized void stop() throws OperatorException {
+        super.stop();
+        pendingEvents.clear();
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    private static final class PendingEvent {
+        private final long firstEventNanos;
+        private ScheduledFuture<?> future;
+
+        private PendingEvent(final long firstEventNanos) {
+            this.firstEventNanos = firstEventNanos;
+        }
+    }
+}
@@ -0,0 +1,138 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.strimzi.kafka.access.internal;
+
+import io.fabric8.kubernetes.api.model.ObjectMeta;
+import io.fabric8.kubernetes.api.model.Secret;
+import io.strimzi.api.kafka.model.kafka.Kafka;
+import io.strimzi.api.kafka.model.kafka.KafkaClusterSpec;
+import io.strimzi.api.kafka.model.kafka.KafkaResources;
+import io.strimzi.api.kafka.model.kafka.KafkaSpec;
+import io.strimzi.api.kafka.model.kafka.KafkaStatus;
+import io.strimzi.api.kafka.model.kafka.listener.KafkaListenerAuthentication;
+import io.strimzi.api.kafka.model.user.KafkaUser;
+import io.strimzi.api.kafka.model.user.KafkaUserAuthentication;
+import io.strimzi.api.kafka.model.user.KafkaUserSpec;
+import io.strimzi.api.kafka.model.user.KafkaUserStatus;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.StringJoiner;
+import java.util.function.Function;
+
+/**
+ * Filters for the informer event sources that drop events which cannot change the data in the KafkaAccess Secrets
+ */
+public class EventFilters {
+
+    /**
+     * The key of the CA certificate in the cluster CA certificate Secret
+     */
+    public static final String CA_CERT_SECRET_KEY = "ca.crt";
+
+    /**
+     * Checks whether a Secret managed by the Strimzi Cluster Operator is the cluster CA certificate Secret,
+     * which is the only one the operator reads.
+     *
+     * @param secret    Secret managed by the Strimzi Cluster Operator
+     *
+     * @return          True if the Secret is the cluster CA certificate Secret of the cluster it belongs to
+     */
+    public static boolean isClusterCaCertSecret(final Secret secret) {
+        final Optional<ObjectMeta> metadata = Optional.ofNullable(secret.getMetadata());
+        final Optional<String> clusterName = metadata.map(ObjectMeta::getLabels)
+                .map(labels -> labels.get(KafkaAccessMapper.INSTANCE_LABEL_KEY));
+        return clusterName.isPresent()
+                && KafkaResources.clusterCaCertificateSecretName(clusterName.get()).equals(metadata.map(ObjectMeta::getName).orElse(null));
+    }
+
+    /**
+     * Checks whether an update to the cluster CA certificate Secret changed the CA certificate.
+     *
+     * @param oldSecret     The previous version of the Secret
+     * @param newSecret     The updated version of the Secret
+     *
+     * @return              True if the CA certificate changed
+     */
+    public static boolean caCertChanged(final Secret oldSecret, final Secret newSecret) {
+        return !Objects.equals(caCert(oldSecret), caCert(newSecret));
+    }
+
+    /**
+     * Checks whether an update to a Kafka resource changed any of the listener fields used to build the connection
+     * details, which are the listener definitions in the spec and the bootstrap servers in the status.
+     *
+     * @param oldKafka      The previous version of the Kafka resource
+     * @param newKafka      The updated version of the Kafka resource
+     *
+     * @return              True if the listener fingerprint changed
+     */
+    public static boolean kafkaListenersChanged(final Kafka oldKafka, final Kafka newKafka) {
+        return !listenerFingerprint(oldKafka).equals(listenerFingerprint(newKafka));
+    }
+
+    /**
+     * Builds a compact fingerprint of the listener fields of a Kafka resource that are used by the KafkaParser.
+     *
+     * @param kafka     The Kafka resource
+     *
+     * @return          The listener fingerprint
+     */
+    public static String listenerFingerprint(final Kafka kafka) {
+        final StringJoiner fingerprint = new StringJoiner(";");
+        Optional.ofNullable(kafka.getSpec())
+                .map(KafkaSpec::getKafka)
+                .map(KafkaClusterSpec::getListeners)
+                .orElse(List.of())
+                .forEach(listener -> fingerprint.add(String.join(",",
+                        listener.getName(),
+                        String.valueOf(listener.getType()),
+                        String.valueOf(listener.isTls()),
+                        Optional.ofNullable(listener.getAuth()).map(KafkaListenerAuthentication::getType).orElse(KafkaParser.LISTENER_AUTH_NONE))));
+        Optional.ofNullable(kafka.getStatus())
+                .map(KafkaStatus::getListeners)
+                .orElse(List.of())
+                .forEach(listenerStatus -> fingerprint.add(String.join(",",
+                        listenerStatus.getName(),
+                        listenerStatus.getBootstrapServers())));
+        return fingerprint.toString();
+    }
+
+    /**
+     * Checks whether an update to a KafkaUser resource changed any of the fields used to build the connection
+     * details, which are the authentication type in the spec and the username and Secret name in the status.
+     * Changes to the authorization rules, quotas or status conditions are ignored.
+     *
+     * @param oldKafkaUser  The previous version of the KafkaUser resource
+     * @param newKafkaUser  The updated version of the KafkaUser resource
+     *
+     * @return              True if any of the authentication fields changed
+     */
+    public static boolean kafkaUserAuthenticationChanged(final KafkaUser oldKafkaUser, final KafkaUser newKafkaUser) {
+        return !Objects.equals(authenticationType(oldKafkaUser), authenticationType(newKafkaUser))
+                || !Objects.equals(userStatusField(oldKafkaUser, KafkaUserStatus::getUsername), userStatusField(newKafkaUser, KafkaUserStatus::getUsername))
+                || !Objects.equals(userStatusField(oldKafkaUser, KafkaUserStatus::getSecret), userStatusField(newKafkaUser, KafkaUserStatus::getSecret));
+    }
+
+    private static String authenticationType(final KafkaUser kafkaUser) {
+        return Optional.ofNullable(kafkaUser.getSpec())
+                .map(KafkaUserSpec::getAuthentication)
+                .map(KafkaUserAuthentication::getType)
+                .orElse(null);
+    }
+
+    private static String userStatusField(final KafkaUser kafkaUser, final Function<KafkaUserStatus, String> field) {
+        return Optional.ofNullable(kafkaUser.getStatus())
+                .map(field)
+                .orElse(null);
+    }
+
+    private static String caCert(final Secret secret) {
+        return Optional.ofNullable(secret.getData())
+                .map(data -> data.get(CA_CERT_SECRET_KEY))
+                .orElse(null);
+    }
+}
@@ -0,0 +1,168 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.strimzi.kafka.access.internal;
+
+import io.fabric8.kubernetes.api.model.ManagedFieldsEntry;
+import io.fabric8.kubernetes.api.model.ObjectMeta;
+import io.fabric8.kubernetes.api.model.ObjectMetaBuilder;
+import io.fabric8.kubernetes.api.model.Secret;
+import io.fabric8.kubernetes.api.model.SecretBuilder;
+import io.strimzi.api.kafka.model.kafka.Kafka;
+import io.strimzi.api.kafka.model.kafka.KafkaClusterSpec;
+import io.strimzi.api.kafka.model.kafka.KafkaSpec;
+import io.strimzi.api.kafka.model.kafka.KafkaStatus;
+import io.strimzi.api.kafka.model.kafka.listener.GenericKafkaListener;
+import io.strimzi.api.kafka.model.kafka.listener.ListenerStatus;
+import io.strimzi.api.kafka.model.user.KafkaUser;
+import io.strimzi.api.kafka.model.user.KafkaUserSpec;
+import io.strimzi.api.kafka.model.user.KafkaUserStatus;
+import org.apache.kafka.common.config.SaslConfigs;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Transformations applied to the resources before they are stored in the informer caches, which remove the fields
+ * the operator does not read
+ */
+@SuppressWarnings("ClassDataAbstractionCoupling")
+public class InformerTransforms {
+
+    /**
+     * The keys of the KafkaUser Secrets that are used to build the connection details
+     */
+    public static final Set<String> KAFKA_USER_SECRET_KEYS = Set.of("password", SaslConfigs.SASL_JAAS_CONFIG, "user.crt", "user.key");
+
+    /**
+     * Prunes a Secret managed by the Strimzi Cluster Operator to the CA certificate of the cluster CA certificate
+     * Secret. The data of every other Secret of the cluster, such as the broker keystores and the CA private keys,
+     * is dropped.
+     *
+     * @param secret    Secret managed by the Strimzi Cluster Operator
+     *
+     * @return          A pruned copy of the Secret
+     */
+    public static Secret pruneStrimziSecret(final Secret secret) {
+        final Set<String> keys = EventFilters.isClusterCaCertSecret(secret) ? Set.of(EventFilters.CA_CERT_SECRET_KEY) : Set.of();
+        return pruneSecret(secret, keys);
+    }
+
+    /**
+     * Prunes a Secret managed by the Strimzi User Operator to the keys used to build the connection details.
+     *
+     * @param secret    Secret managed by the Strimzi User Operator
+     *
+     * @return          A pruned copy of the Secret
+     */
+    public static Secret pruneKafkaUserSecret(final Secret secret) {
+        return pruneSecret(secret, KAFKA_USER_SECRET_KEYS);
+    }
+
+    /**
+     * Projects a Kafka resource to the fields used by the KafkaParser, which are the name, type, port, TLS and
+     * authentication of the listeners in the spec and the name and addresses of the listeners in the status.
+     * The broker configuration, storage, other components and the rest of the status are dropped.
+     *
+     * @param kafka     The Kafka resource
+     *
+     * @return          A projected copy of the Kafka resource
+     */
+    public static Kafka projectKafka(final Kafka kafka) {
+        final Kafka projected = new Kafka();
+        projected.setApiVersion(kafka.getApiVersion());
+        projected.setKind(kafka.getKind());
+        projected.setMetadata(pruneMetadata(kafka.getMetadata()));
+        Optional.ofNullable(kafka.getSpec())
+                .map(KafkaSpec::getKafka)
+                .map(KafkaClusterSpec::getListeners)
+                .ifPresent(listeners -> {
+                    final KafkaClusterSpec kafkaClusterSpec = new KafkaClusterSpec();
+                    kafkaClusterSpec.setListeners(listeners.stream().map(InformerTransforms::projectListener).toList());
+                    final KafkaSpec spec = new KafkaSpec();
+                    spec.setKafka(kafkaClusterSpec);
+                    projected.setSpec(spec);
+                });
+        Optional.ofNullable(kafka.getStatus())
+                .map(KafkaStatus::getListeners)
+                .ifPresent(listeners -> {
+                    final KafkaStatus status = new KafkaStatus();
+                    status.setListeners(listeners.stream().map(InformerTransforms::projectListenerStatus).toList());
+                    projected.setStatus(status);
+                });
+        return projected;
+    }
+
+    /**
+     * Projects a KafkaUser resource to the fields used to build the connection details, which are the authentication
+     * in the spec and the username and Secret name in the status. The authorization rules, quotas, template and
+     * status conditions are dropped.
+     *
+     * @param kafkaUser     The KafkaUser resource
+     *
+     * @return              A projected copy of the KafkaUser resource
+     */
+    public static KafkaUser projectKafkaUser(final KafkaUser kafkaUser) {
+        final KafkaUser projected = new KafkaUser();
+        projected.setApiVersion(kafkaUser.getApiVersion());
+        projected.setKind(kafkaUser.getKind());
+        projected.setMetadata(pruneMetadata(kafkaUser.getMetadata()));
+        Optional.ofNullable(kafkaUser.getSpec())
+                .ifPresent(kafkaUserSpec -> {
+                    final KafkaUserSpec spec = new KafkaUserSpec();
+                    spec.setAuthentication(kafkaUserSpec.getAuthentication());
+                    projected.setSpec(spec);
+                });
+        Optional.ofNullable(kafkaUser.getStatus())
+                .ifPresent(kafkaUserStatus -> {
+                    final KafkaUserStatus status = new KafkaUserStatus();
+                    status.setUsername(kafkaUserStatus.getUsername());
+                    status.setSecret(kafkaUserStatus.getSecret());
+                    projected.setStatus(status);
+                });
+        return projected;
+    }
+
+    private static GenericKafkaListener projectListener(final GenericKafkaListener listener) {
+        final GenericKafkaListener projected = new GenericKafkaListener();
+        projected.setName(listener.getName());
+        projected.setPort(listener.getPort());
+        projected.setType(listener.getType());
+        projected.setTls(listener.isTls());
+        projected.setAuth(listener.getAuth());
+        return projected;
+    }
+
+    private static ListenerStatus projectListenerStatus(final ListenerStatus listenerStatus) {
+        final ListenerStatus projected = new ListenerStatus();
+        projected.setName(listenerStatus.getName());
+        projected.setAddresses(listenerStatus.getAddresses());
+        return projected;
+    }
+
+    private static ObjectMeta pruneMetadata(final ObjectMeta metadata) {
+        return new ObjectMetaBuilder(metadata)
+                .withManagedFields((List<ManagedFieldsEntry>) null)
+                .build();
+    }
+
+    private static Secret pruneSecret(final Secret secret, final Set<String> keys) {
+        final Map<String, String> data = Optional.ofNullable(secret.getData())
+                .orElse(Map.of())
+                .entrySet()
+                .stream()
+                .filter(entry -> keys.contains(entry.getKey()))
+                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+        return new SecretBuilder()
+                .withApiVersion(secret.getApiVersion())
+                .withKind(secret.getKind())
+                .withType(secret.getType())
+                .withMetadata(pruneMetadata(secret.getMetadata()))
+                .withData(data)
+                .build();
+    }
+}
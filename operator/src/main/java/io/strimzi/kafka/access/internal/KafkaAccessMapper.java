@@ -5,28 +5,28 @@
 package io.strimzi.kafka.access.internal;
 
 import io.fabric8.kubernetes.api.model.ObjectMeta;
-import io.fabric8.kubernetes.api.model.OwnerReference;
 import io.fabric8.kubernetes.api.model.Secret;
+import io.javaoperatorsdk.operator.api.reconciler.IndexedResourceCache;
 import io.javaoperatorsdk.operator.processing.event.ResourceID;
+import io.javaoperatorsdk.operator.processing.event.source.IndexerResourceCache;
 import io.strimzi.api.kafka.model.kafka.Kafka;
 import io.strimzi.api.kafka.model.kafka.KafkaBuilder;
 import io.strimzi.api.kafka.model.user.KafkaUser;
+import io.strimzi.api.kafka.model.user.KafkaUserStatus;
 import io.strimzi.kafka.access.model.KafkaAccess;
 import io.strimzi.kafka.access.model.KafkaAccessSpec;
-import io.strimzi.kafka.access.model.KafkaUserReference;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
-import java.util.function.Function;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 /**
  * Maps Strimzi and Kubernetes resources to and from KafkaAccess resources
@@ -63,62 +63,109 @@ public class KafkaAccessMapper {
      */
     public static final String KAFKA_ACCESS_LABEL_VALUE = "kafka-access-operator";
 
+    /**
+     * Name of the KafkaAccess cache index keyed by the Kafka resource that is referenced
+     */
+    public static final String KAFKA_INDEX = "kafka-index";
+
+    /**
+     * Name of the KafkaAccess cache index keyed by the KafkaUser resource that is referenced
+     */
+    public static final String KAFKA_USER_INDEX = "kafka-user-index";
+
+    /**
+     * Name of the KafkaUser cache index keyed by the Secret that holds the user credentials
+     */
+    public static final String KAFKA_USER_SECRET_INDEX = "kafka-user-secret-index";
+
     private static final Logger LOGGER = LoggerFactory.getLogger(KafkaAccessMapper.class);
 
     /**
-     * Filters the stream of KafkaAccess objects to find only the ones that reference the provided Kafka resource.
+     * Registers the indexers used to look up KafkaAccess objects by the Kafka and KafkaUser resources they reference.
+     * The informer keeps the indexes up to date when KafkaAccess objects are added, updated or deleted.
+     *
+     * @param kafkaAccessCache   The KafkaAccess cache to add the indexers to
+     */
+    public static void addIndexers(final IndexerResourceCache<KafkaAccess> kafkaAccessCache) {
+        kafkaAccessCache.addIndexers(Map.of(
+                KAFKA_INDEX, kafkaAccess -> indexKeys(kafkaPrimaryToSecondaryMapper(kafkaAccess)),
+                KAFKA_USER_INDEX, kafkaAccess -> indexKeys(kafkaUserPrimaryToSecondaryMapper(kafkaAccess))
+        ));
+    }
+
+    /**
+     * Registers the indexer used to look up KafkaUser resources by the name of the Secret in their status.
+     *
+     * @param kafkaUserCache     The KafkaUser cache to add the indexer to
+     */
+    public static void addKafkaUserIndexers(final IndexerResourceCache<KafkaUser> kafkaUserCache) {
+        kafkaUserCache.addIndexer(KAFKA_USER_SECRET_INDEX, kafkaUser -> {
+            final Optional<String> secretName = Optional.ofNullable(kafkaUser.getStatus()).map(KafkaUserStatus::getSecret);
+            final Optional<String> kafkaUserNamespace = Optional.ofNullable(kafkaUser.getMetadata()).map(ObjectMeta::getNamespace);
+            if (secretName.isEmpty() || kafkaUserNamespace.isEmpty()) {
+                return List.of();
+            }
+            return List.of(indexKey(secretName.get(), kafkaUserNamespace.get()));
+        });
+    }
+
+    /**
+     * Builds the key used in the KafkaAccess cache indexes for a referenced resource.
+     *
+     * @param name         Name of the referenced resource
+     * @param namespace    Namespace of the referenced resource
+     *
+     * @return             The index key
+     */
+    public static String indexKey(final String name, final String namespace) {
+        return namespace + "/" + name;
+    }
+
+    private static List<String> indexKeys(final Set<ResourceID> resourceIDs) {
+        return resourceIDs.stream()
+                .map(resourceID -> indexKey(resourceID.getName(), resourceID.getNamespace().orElse(null)))
+                .toList();
+    }
+
+    /**
+     * Looks up the KafkaAccess objects that reference the provided Kafka resource.
      *
-     * @param kafkaAccessList    Stream of KafkaAccess objects in the current cache
+     * @param kafkaAccessCache   Indexed cache of KafkaAccess objects
      * @param kafka              Kafka resource to check for in the KafkaAccess objects
      *
      * @return                   Set of ResourceIDs for the KafkaAccess objects that reference the Kafka resource
      */
-    public static Set<ResourceID> kafkaSecondaryToPrimaryMapper(final Stream<KafkaAccess> kafkaAccessList, final Kafka kafka) {
+    public static Set<ResourceID> kafkaSecondaryToPrimaryMapper(final IndexedResourceCache<KafkaAccess> kafkaAccessCache, final Kafka kafka) {
         final Optional<String> kafkaName = Optional.ofNullable(kafka.getMetadata()).map(ObjectMeta::getName);
         final Optional<String> kafkaNamespace = Optional.ofNullable(kafka.getMetadata()).map(ObjectMeta::getNamespace);
         if (kafkaName.isEmpty() || kafkaNamespace.isEmpty()) {
             LOGGER.error("getKafkaAccessSetForKafka called with Kafka resource that is missing metadata, returning empty set");
             return Collections.emptySet();
         }
-        return getResourceIDsForInstance(kafkaAccessList, kafkaAccess -> {
-            // If the KafkaReference omits a namespace, assume the Kafka is in the KafkaAccess namespace
-            final String expectedNamespace = Optional.ofNullable(kafkaAccess.getSpec().getKafka().getNamespace())
-                    .orElse(Optional.ofNullable(kafkaAccess.getMetadata())
-                            .map(ObjectMeta::getNamespace)
-                            .orElse(null));
-            return kafkaNamespace.get().equals(expectedNamespace) && kafkaName.get().equals(kafkaAccess.getSpec().getKafka().getName());
-        });
+        return getResourceIDsForIndex(kafkaAccessCache, KAFKA_INDEX, indexKey(kafkaName.get(), kafkaNamespace.get()));
     }
 
     /**
-     * Filters the stream of KafkaAccess objects to find only the ones that reference the provided KafkaUser resource.
+     * Looks up the KafkaAccess objects that reference the provided KafkaUser resource.
      *
-     * @param kafkaAccessList    Stream of KafkaAccess objects in the current cache
+     * @param kafkaAccessCache   Indexed cache of KafkaAccess objects
      * @param kafkaUser          KafkaUser resource to check for in the KafkaAccess objects
      *
      * @return                   Set of ResourceIDs for the KafkaAccess objects that reference the KafkaUser resource
      */
-    public static Set<ResourceID> kafkaUserSecondaryToPrimaryMapper(final Stream<KafkaAccess> kafkaAccessList, final KafkaUser kafkaUser) {
+    public static Set<ResourceID> kafkaUserSecondaryToPrimaryMapper(final IndexedResourceCache<KafkaAccess> kafkaAccessCache, final KafkaUser kafkaUser) {
         final Optional<String> kafkaUserName = Optional.ofNullable(kafkaUser.getMetadata()).map(ObjectMeta::getName);
         final Optional<String> kafkaUserNamespace = Optional.ofNullable(kafkaUser.getMetadata()).map(ObjectMeta::getNamespace);
         if (kafkaUserName.isEmpty() || kafkaUserNamespace.isEmpty()) {
             LOGGER.error("getKafkaAccessSetForKafkaUser called with KafkaUser resource that is missing metadata, returning empty set");
             return Collections.emptySet();
         }
-        return getResourceIDsForInstance(kafkaAccessList, kafkaAccess -> {
-            // If the KafkaReference omits a namespace, assume the Kafka is in the KafkaAccess namespace
-            final String expectedNamespace = Optional.ofNullable(kafkaAccess.getSpec().getUser())
-                    .map(KafkaUserReference::getNamespace)
-                    .orElse(Optional.ofNullable(kafkaAccess.getMetadata())
-                            .map(ObjectMeta::getNamespace)
-                            .orElse(null));
-            return kafkaUserNamespace.get().equals(expectedNamespace) && kafkaUserName.get().equals(kafkaAccess.getSpec().getUser().getName());
-        });
+        return getResourceIDsForIndex(kafkaAccessCache, KAFKA_USER_INDEX, indexKey(kafkaUserName.get(), kafkaUserNamespace.get()));
     }
 
-    private static Set<ResourceID> getResourceIDsForInstance(final Stream<KafkaAccess> kafkaAccessList, final Function<KafkaAccess, Boolean> filterMatching) {
-        return kafkaAccessList
-                .filter(filterMatching::apply)
+    private static Set<ResourceID> getResourceIDsForIndex(final IndexedResourceCache<KafkaAccess> kafkaAccessCache, final String indexName, final String indexKey) {
+        return kafkaAccessCache.byIndex(indexName, indexKey)
+                .stream()
                 .map(kafkaAccess -> {
                     final Optional<ObjectMeta> metadata = Optional.ofNullable(kafkaAccess.getMetadata());
                     final Optional<String> kafkaAccessName = metadata.map(ObjectMeta::getName);
@@ -134,14 +181,39 @@ public class KafkaAccessMapper {
     }
 
     /**
-     * Filters the stream of KafkaAccess objects to find only the ones that should be informed that the secret has changed.
+     * Finds the KafkaAccess object that owns a Secret generated by the operator. The managed-by label is not checked,
+     * because its value is configured per operator instance and the informer already selects on it.
      *
-     * @param kafkaAccessList    Stream of KafkaAccess objects in the current cache
+     * @param secret             Secret generated for a KafkaAccess object
+     *
+     * @return                   Set with the ResourceID of the owning KafkaAccess object, or an empty set
+     */
+    public static Set<ResourceID> kafkaAccessSecretSecondaryToPrimaryMapper(final Secret secret) {
+        final Optional<String> secretNamespace = Optional.ofNullable(secret.getMetadata())
+                .map(ObjectMeta::getNamespace);
+        if (secretNamespace.isEmpty()) {
+            LOGGER.error("Namespace missing from secret, returning empty list.");
+            return Set.of();
+        }
+        return Optional.ofNullable(secret.getMetadata())
+                .map(ObjectMeta::getOwnerReferences)
+                .orElse(Collections.emptyList())
+                .stream()
+                .filter(ownerReference -> KafkaAccess.KIND.equals(ownerReference.getKind()))
+                .findFirst()
+                .map(ownerReference -> Set.of(new ResourceID(ownerReference.getName(), secretNamespace.get())))
+                .orElse(Set.of());
+    }
+
+    /**
+     * Finds the KafkaAccess objects that should be informed that the secret has changed.
+     *
+     * @param kafkaAccessCache   Indexed cache of KafkaAccess objects
      * @param secret             Secret to check if it is related to one or more KafkaAccess objects
      *
      * @return                   Set of ResourceIDs for the KafkaAccess objects that reference the Kafka resource
      */
-    public static Set<ResourceID> secretSecondaryToPrimaryMapper(final Stream<KafkaAccess> kafkaAccessList, final Secret secret) {
+    public static Set<ResourceID> secretSecondaryToPrimaryMapper(final IndexedResourceCache<KafkaAccess> kafkaAccessCache, final Secret secret) {
         final Set<ResourceID> resourceIDS = new HashSet<>();
 
         final Optional<String> secretNamespace = Optional.ofNullable(secret.getMetadata())
@@ -162,18 +234,10 @@ public class KafkaAccessMapper {
             return resourceIDS;
         }
         if (KAFKA_ACCESS_LABEL_VALUE.equals(managedByLabel)) {
-            Optional.ofNullable(secret.getMetadata())
-                    .map(ObjectMeta::getOwnerReferences)
-                    .orElse(Collections.emptyList())
-                    .stream()
-                    .filter(ownerReference -> KafkaAccess.KIND.equals(ownerReference.getKind()))
-                    .findFirst()
-                    .map(OwnerReference::getName)
-                    .ifPresent(s -> resourceIDS.add(new ResourceID(s, secretNamespace.get())));
+            resourceIDS.addAll(kafkaAccessSecretSecondaryToPrimaryMapper(secret));
         } else {
             final String clusterName = switch (managedByLabel) {
                 case STRIMZI_CLUSTER_LABEL_VALUE -> labels.get(INSTANCE_LABEL_KEY);
-                case STRIMZI_USER_LABEL_VALUE -> labels.get(STRIMZI_CLUSTER_LABEL_KEY);
                 default -> {
                     LOGGER.error("Secret managed by unknown resource {}.", managedByLabel);
                     yield null;
@@ -186,13 +250,47 @@ public class KafkaAccessMapper {
                         .withNamespace(secretNamespace.get())
                         .endMetadata()
                         .build();
-                resourceIDS.addAll(KafkaAccessMapper.kafkaSecondaryToPrimaryMapper(kafkaAccessList, kafka));
+                resourceIDS.addAll(KafkaAccessMapper.kafkaSecondaryToPrimaryMapper(kafkaAccessCache, kafka));
             }
         }
 
         return resourceIDS;
     }
 
+    /**
+     * Finds the KafkaAccess objects that use the KafkaUser whose credentials are stored in the provided Secret.
+     * The KafkaUser is resolved through the Secret name in its status. If no cached KafkaUser points at the Secret
+     * yet, the Secret name is used as the KafkaUser name, which is how the User Operator names the Secrets by default.
+     *
+     * @param kafkaAccessCache   Indexed cache of KafkaAccess objects
+     * @param kafkaUserCache     Indexed cache of KafkaUser resources
+     * @param secret             Secret managed by the Strimzi User Operator
+     *
+     * @return                   Set of ResourceIDs for the KafkaAccess objects that reference the KafkaUser of the Secret
+     */
+    public static Set<ResourceID> kafkaUserSecretSecondaryToPrimaryMapper(final IndexedResourceCache<KafkaAccess> kafkaAccessCache,
+                                                                          final IndexedResourceCache<KafkaUser> kafkaUserCache,
+                                                                          final Secret secret) {
+        final Optional<String> secretName = Optional.ofNullable(secret.getMetadata()).map(ObjectMeta::getName);
+        final Optional<String> secretNamespace = Optional.ofNullable(secret.getMetadata()).map(ObjectMeta::getNamespace);
+        if (secretName.isEmpty() || secretNamespace.isEmpty()) {
+            LOGGER.error("Name or namespace missing from KafkaUser secret, returning empty set.");
+            return Collections.emptySet();
+        }
+
+        final List<KafkaUser> kafkaUsers = kafkaUserCache.byIndex(KAFKA_USER_SECRET_INDEX, indexKey(secretName.get(), secretNamespace.get()));
+        final Set<String> kafkaUserNames = kafkaUsers.isEmpty()
+                ? Set.of(secretName.get())
+                : kafkaUsers.stream()
+                    .map(kafkaUser -> kafkaUser.getMetadata().getName())
+                    .collect(Collectors.toSet());
+
+        final Set<ResourceID> resourceIDS = new HashSet<>();
+        kafkaUserNames.forEach(kafkaUserName ->
+                resourceIDS.addAll(getResourceIDsForIndex(kafkaAccessCache, KAFKA_USER_INDEX, indexKey(kafkaUserName, secretNamespace.get()))));
+        return resourceIDS;
+    }
+
     /**
      * Finds the KafkaUser that is referenced by this KafkaAccess object.
      *
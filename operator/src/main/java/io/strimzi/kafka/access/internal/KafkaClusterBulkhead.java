@@ -0,0 +1,161 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.strimzi.kafka.access.internal;
+
+import io.javaoperatorsdk.operator.processing.event.ResourceID;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Limits the number of concurrent reconciliations of the KafkaAccess resources of each Kafka cluster, so that a fan-out
+ * from one large cluster does not take all the reconciliation threads from the KafkaAccess resources of the other
+ * clusters. The reconciliations above the limit wait in a queue of their cluster and are passed to the executor one by
+ * one as the running reconciliations of the cluster complete. A cluster without running or queued reconciliations is
+ * forgotten and its gauges are removed, so that the deleted clusters do not stay in the metrics.
+ *
+ * @param <T>   Type of the reconciliation tasks
+ */
+public class KafkaClusterBulkhead<T> {
+
+    /**
+     * Name of the gauge with the number of running reconciliations of a Kafka cluster
+     */
+    public static final String IN_FLIGHT = "strimzi.access.reconcile.cluster.inflight";
+
+    /**
+     * Name of the gauge with the number of reconciliations of a Kafka cluster waiting for the bulkhead
+     */
+    public static final String QUEUED = "strimzi.access.reconcile.cluster.queued";
+
+    /**
+     * Name of the tag with the namespace of the Kafka cluster
+     */
+    public static final String KAFKA_NAMESPACE_TAG = "kafka_namespace";
+
+    /**
+     * Name of the tag with the name of the Kafka cluster
+     */
+    public static final String KAFKA_NAME_TAG = "kafka_name";
+
+    private final int maxConcurrentPerCluster;
+    private final Comparator<? super T> order;
+    private final MeterRegistry registry;
+    private final Map<ResourceID, Cluster<T>> clusters = new HashMap<>();
+
+    /**
+     * Creates a new KafkaClusterBulkhead.
+     *
+     * @param maxConcurrentPerCluster   The maximum number of concurrent reconciliations of a Kafka cluster
+     * @param order                     The order in which the queued reconciliations of a cluster are released
+     * @param registry                  The meter registry the gauges of the clusters are registered in
+     */
+    public KafkaClusterBulkhead(final int maxConcurrentPerCluster, final Comparator<? super T> order, final MeterRegistry registry) {
+        if (maxConcurrentPerCluster < 1) {
+            throw new IllegalArgumentException("The maximum number of concurrent reconciliations per Kafka cluster must be at least 1");
+        }
+        this.maxConcurrentPerCluster = maxConcurrentPerCluster;
+        this.order = order;
+        this.registry = registry;
+    }
+
+    /**
+     * Takes a slot of the Kafka cluster for the task, or queues the task if all slots are taken.
+     *
+     * @param kafka     The Kafka cluster
+     * @param task      The reconciliation task
+     *
+     * @return  True if the task can be executed right away, false if it was queued
+     */
+    public synchronized boolean tryAcquire(final ResourceID kafka, final T task) {
+        final Cluster<T> cluster = clusters.computeIfAbsent(kafka, this::newCluster);
+        if (cluster.inFlight < maxConcurrentPerCluster) {
+            cluster.inFlight++;
+            return true;
+        }
+        cluster.queued.add(task);
+        return false;
+    }
+
+    /**
+     * Releases the slot of a completed task of the Kafka cluster. If a task of the cluster is queued, the slot is
+     * passed to it.
+     *
+     * @param kafka     The Kafka cluster
+     *
+     * @return  The next task of the cluster to execute, or null if none is queued
+     */
+    public synchronized T release(final ResourceID kafka) {
+        final Cluster<T> cluster = clusters.get(kafka);
+        if (cluster == null) {
+            return null;
+        }
+        final T next = cluster.queued.poll();
+        if (next == null) {
+            cluster.inFlight--;
+            if (cluster.inFlight == 0) {
+                clusters.remove(kafka);
+                registry.remove(cluster.inFlightGauge);
+                registry.remove(cluster.queuedGauge);
+            }
+        }
+        return next;
+    }
+
+    /**
+     * Gets the number of running reconciliations of a Kafka cluster.
+     *
+     * @param kafka     The Kafka cluster
+     *
+     * @return  The number of running reconciliations
+     */
+    public synchronized int inFlight(final ResourceID kafka) {
+        final Cluster<T> cluster = clusters.get(kafka);
+        return cluster == null ? 0 : cluster.inFlight;
+    }
+
+    /**
+     * Gets the number of reconciliations of a Kafka cluster waiting for the bulkhead.
+     *
+     * @param kafka     The Kafka cluster
+     *
+     * @return  The number of queued reconciliations
+     */
+    public synchronized int queued(final ResourceID kafka) {
+        final Cluster<T> cluster = clusters.get(kafka);
+        return cluster == null ? 0 : cluster.queued.size();
+    }
+
+    private Cluster<T> newCluster(final ResourceID kafka) {
+        final Tags tags = Tags.of(KAFKA_NAMESPACE_TAG, kafka.getNamespace().orElse(""), KAFKA_NAME_TAG, kafka.getName());
+        final Gauge inFlightGauge = Gauge.builder(IN_FLIGHT, () -> inFlight(kafka))
+                .description("Number of running reconciliations of the KafkaAccess resources of a Kafka cluster")
+                .tags(tags)
+                .register(registry);
+        final Gauge queuedGauge = Gauge.builder(QUEUED, () -> queued(kafka))
+                .description("Number of reconciliations of the KafkaAccess resources of a Kafka cluster waiting for the per-cluster limit")
+                .tags(tags)
+                .register(registry);
+        return new Cluster<>(new PriorityQueue<>(order), inFlightGauge, queuedGauge);
+    }
+
+    private static final class Cluster<T> {
+        private final PriorityQueue<T> queued;
+        private final Gauge inFlightGauge;
+        private final Gauge queuedGauge;
+        private int inFlight;
+
+        private Cluster(final PriorityQueue<T> queued, final Gauge inFlightGauge, final Gauge queuedGauge) {
+            this.queued = queued;
+            this.inFlightGauge = inFlightGauge;
+            this.queuedGauge = queuedGauge;
+        }
+    }
+}
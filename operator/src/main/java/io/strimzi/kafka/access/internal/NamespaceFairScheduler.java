@@ -0,0 +1,148 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.strimzi.kafka.access.internal;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Shares the reconciliation threads fairly between the namespaces of the KafkaAccess resources. Each queued
+ * reconciliation gets a start tag in the virtual time of the scheduler: the later of the current virtual time and the
+ * tag after the last queued reconciliation of its namespace. Ordering the queue by the start tags runs the
+ * reconciliations of the namespaces round-robin, so a namespace with thousands of queued reconciliations delays the
+ * reconciliations of the other namespaces by at most one reconciliation each.
+ *
+ * The time the reconciliations wait in the queue is recorded per namespace. The timer of a namespace is removed from
+ * the registry once no reconciliation of the namespace started for the idle timeout, so the number of timers follows
+ * the namespaces with recent reconciliations instead of every namespace seen since the operator started.
+ */
+public class NamespaceFairScheduler {
+
+    /**
+     * Name of the timer with the time the reconciliations wait for a thread, tagged by namespace
+     */
+    public static final String QUEUE_WAIT = "strimzi.access.reconcile.queue.wait";
+
+    /**
+     * Name of the namespace tag
+     */
+    public static final String NAMESPACE_TAG = "namespace";
+
+    private static final int PRUNE_INTERVAL = 1024;
+    private static final long IDLE_TIMEOUT_NANOS = TimeUnit.MINUTES.toNanos(10);
+
+    private final boolean enabled;
+    private final MeterRegistry registry;
+    private final LongSupplier nanoTime;
+    private final Map<String, Long> nextTags = new HashMap<>();
+    private final Map<String, WaitTimer> waitTimers = new HashMap<>();
+    private long virtualTime;
+    private int tagsSincePrune;
+    private long lastTimerPruneNanos;
+
+    /**
+     * Creates a new NamespaceFairScheduler.
+     *
+     * @param enabled   Whether the reconciliations are shared between the namespaces, when disabled all start tags
+     *                  are zero and the reconciliations keep the order they were queued in
+     * @param registry  The meter registry the wait timers are registered in
+     */
+    public NamespaceFairScheduler(final boolean enabled, final MeterRegistry registry) {
+        this(enabled, registry, System::nanoTime);
+    }
+
+    NamespaceFairScheduler(final boolean enabled, final MeterRegistry registry, final LongSupplier nanoTime) {
+        this.enabled = enabled;
+        this.registry = registry;
+        this.nanoTime = nanoTime;
+        this.lastTimerPruneNanos = nanoTime.getAsLong();
+    }
+
+    /**
+     * Gets the start tag of a reconciliation queued for a namespace.
+     *
+     * @param namespace     The namespace of the KafkaAccess resource, or null if it is not known
+     *
+     * @return  The start tag, reconciliations with lower tags run first
+     */
+    public synchronized long startTag(final String namespace) {
+        if (!enabled) {
+            return 0;
+        }
+        if (namespace == null) {
+            return virtualTime;
+        }
+        final long tag = Math.max(virtualTime, nextTags.getOrDefault(namespace, 0L));
+        nextTags.put(namespace, tag + 1);
+        if (++tagsSincePrune >= PRUNE_INTERVAL) {
+            // Namespaces whose next tag is not ahead of the virtual time would get the virtual time anyway
+            nextTags.values().removeIf(nextTag -> nextTag <= virtualTime);
+            tagsSincePrune = 0;
+        }
+        return tag;
+    }
+
+    /**
+     * Advances the virtual time when a reconciliation leaves the queue and records how long it waited.
+     *
+     * @param namespace     The namespace of the KafkaAccess resource, or null if it is not known
+     * @param startTag      The start tag of the reconciliation
+     * @param waitNanos     The time the reconciliation waited in the queue
+     */
+    public void started(final String namespace, final long startTag, final long waitNanos) {
+        final Timer timer;
+        synchronized (this) {
+            virtualTime = Math.max(virtualTime, startTag);
+            if (namespace == null) {
+                return;
+            }
+            final long now = nanoTime.getAsLong();
+            pruneIdleTimers(now);
+            final WaitTimer waitTimer = waitTimers.computeIfAbsent(namespace, this::newWaitTimer);
+            waitTimer.lastStartedNanos = now;
+            timer = waitTimer.timer;
+        }
+        timer.record(waitNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Removes the timers of the namespaces without a reconciliation started within the idle timeout. The check runs
+     * at most once per idle timeout, so a timer is removed between one and two idle timeouts after its last use.
+     */
+    private void pruneIdleTimers(final long now) {
+        if (now - lastTimerPruneNanos < IDLE_TIMEOUT_NANOS) {
+            return;
+        }
+        waitTimers.values().removeIf(waitTimer -> {
+            if (now - waitTimer.lastStartedNanos < IDLE_TIMEOUT_NANOS) {
+                return false;
+            }
+            registry.remove(waitTimer.timer);
+            return true;
+        });
+        lastTimerPruneNanos = now;
+    }
+
+    private WaitTimer newWaitTimer(final String namespace) {
+        return new WaitTimer(Timer.builder(QUEUE_WAIT)
+                .description("Time the KafkaAccess reconciliations wait for a reconciliation thread, by namespace")
+                .tag(NAMESPACE_TAG, namespace)
+                .register(registry));
+    }
+
+    private static final class WaitTimer {
+        private final Timer timer;
+        private long lastStartedNanos;
+
+        private WaitTimer(final Timer timer) {
+            this.timer = timer;
+        }
+    }
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.strimzi.kafka.access.internal;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ClassLoaderMetrics;
+import io.micrometer.core.instrument.binder.jvm.JvmGcMetrics;
+import io.micrometer.core.instrument.binder.jvm.JvmMemoryMetrics;
+import io.micrometer.core.instrument.binder.jvm.JvmThreadMetrics;
+import io.micrometer.core.instrument.binder.system.ProcessorMetrics;
+import io.micrometer.core.instrument.binder.system.UptimeMetrics;
+
+/**
+ * The metrics recorded by the reconciler of the Strimzi Access Operator
+ */
+public class OperatorMetrics {
+
+    /**
+     * Name of the counter of the KafkaAccess status updates, tagged by whether the status was patched or the patch
+     * was skipped because the status did not change
+     */
+    public static final String STATUS_UPDATES = "strimzi.access.status.updates";
+
+    /**
+     * Name of the counter of the KafkaAccess Secret writes, tagged by whether the Secret was written or the write was
+     * skipped because the Secret was up to date
+     */
+    public static final String SECRET_WRITES = "strimzi.access.secret.writes";
+
+    /**
+     * Name of the tag with the result of a status update or a Secret write
+     */
+    public static final String RESULT_TAG = "result";
+
+    /**
+     * Result of a status update that was written to the Kubernetes API
+     */
+    public static final String RESULT_PATCHED = "patched";
+
+    /**
+     * Result of a status update that was skipped because the status did not change, or of a Secret write that was
+     * skipped because the Secret was up to date
+     */
+    public static final String RESULT_SKIPPED = "skipped";
+
+    /**
+     * Result of a Secret write that created or updated the Secret
+     */
+    public static final String RESULT_WRITTEN = "written";
+
+    private final MeterRegistry registry;
+    private final Counter statusPatched;
+    private final Counter statusSkipped;
+    private final Counter secretWritten;
+    private final Counter secretSkipped;
+
+    /**
+     * Creates the metrics and registers them in the meter registry.
+     *
+     * @param registry  The meter registry
+     */
+    public OperatorMetrics(final MeterRegistry registry) {
+        this.registry = registry;
+        this.statusPatched = statusUpdates(registry, RESULT_PATCHED);
+        this.statusSkipped = statusUpdates(registry, RESULT_SKIPPED);
+        this.secretWritten = secretWrites(registry, RESULT_WRITTEN);
+        this.secretSkipped = secretWrites(registry, RESULT_SKIPPED);
+    }
+
+    /**
+     * Registers the memory, garbage collection, thread, class loader, processor and uptime metrics of the JVM. They
+     * are registered once for the lifetime of the operator process.
+     *
+     * @param registry  The meter registry
+     */
+    @SuppressWarnings("resource")
+    public static void bindJvmMetrics(final MeterRegistry registry) {
+        new JvmMemoryMetrics().bindTo(registry);
+        new JvmGcMetrics().bindTo(registry);
+        new JvmThreadMetrics().bindTo(registry);
+        new ClassLoaderMetrics().bindTo(registry);
+        new ProcessorMetrics().bindTo(registry);
+        new UptimeMetrics().bindTo(registry);
+    }
+
+    private static Counter statusUpdates(final MeterRegistry registry, final String result) {
+        return Counter.builder(STATUS_UPDATES)
+                .description("Number of KafkaAccess status updates, by whether the status was patched or skipped as unchanged")
+                .tag(RESULT_TAG, result)
+                .register(registry);
+    }
+
+    private static Counter secretWrites(final MeterRegistry registry, final String result) {
+        return Counter.builder(SECRET_WRITES)
+                .description("Number of KafkaAccess Secret writes, by whether the Secret was written or skipped as up to date")
+                .tag(RESULT_TAG, result)
+                .register(registry);
+    }
+
+    /**
+     * Gets the meter registry the metrics are registered in.
+     *
+     * @return  The meter registry
+     */
+    public MeterRegistry getRegistry() {
+        return registry;
+    }
+
+    /**
+     * Records a KafkaAccess status that was patched.
+     */
+    public void statusPatched() {
+        statusPatched.increment();
+    }
+
+    /**
+     * Records a KafkaAccess status patch that was skipped because the status did not change.
+     */
+    public void statusSkipped() {
+        statusSkipped.increment();
+    }
+
+    /**
+     * Records a KafkaAccess Secret that was created or updated.
+     */
+    public void secretWritten() {
+        secretWritten.increment();
+    }
+
+    /**
+     * Records a KafkaAccess Secret write that was skipped because the Secret was up to date.
+     */
+    public void secretSkipped() {
+        secretSkipped.increment();
+    }
+}
@@ -0,0 +1,48 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.strimzi.kafka.access.internal;
+
+import io.javaoperatorsdk.operator.processing.event.ResourceID;
+import io.javaoperatorsdk.operator.processing.event.source.AbstractEventSource;
+import io.javaoperatorsdk.operator.processing.event.source.ResourceEventAware;
+import io.strimzi.kafka.access.model.KafkaAccess;
+
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Event source that never triggers a reconciliation, but is told by JOSDK when a KafkaAccess resource is deleted. The
+ * primary resource event source does not support a delete filter, and the reconciler is not called for deleted
+ * resources unless it is triggered on all events, so this is how the state kept per KafkaAccess resource is cleaned up.
+ */
+public class PrimaryDeletionEventSource extends AbstractEventSource<Void, KafkaAccess> implements ResourceEventAware<KafkaAccess> {
+
+    /**
+     * Name of the event source
+     */
+    public static final String NAME = "PRIMARY_DELETION_EVENT_SOURCE";
+
+    private final Consumer<ResourceID> onDeleted;
+
+    /**
+     * Creates a new PrimaryDeletionEventSource.
+     *
+     * @param onDeleted     Called with the ID of each deleted KafkaAccess resource, on the thread of the informer
+     */
+    public PrimaryDeletionEventSource(final Consumer<ResourceID> onDeleted) {
+        super(Void.class, NAME);
+        this.onDeleted = onDeleted;
+    }
+
+    @Override
+    public void onResourceDeleted(final KafkaAccess kafkaAccess) {
+        onDeleted.accept(ResourceID.fromResource(kafkaAccess));
+    }
+
+    @Override
+    public Set<Void> getSecondaryResources(final KafkaAccess primary) {
+        return Set.of();
+    }
+}
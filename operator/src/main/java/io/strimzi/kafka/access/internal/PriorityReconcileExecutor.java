@@ -0,0 +1,269 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.strimzi.kafka.access.internal;
+
+import io.javaoperatorsdk.operator.processing.event.ResourceID;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.strimzi.kafka.access.model.KafkaAccess;
+import io.strimzi.kafka.access.model.KafkaAccessStatus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Executor for the reconciliations, which is passed to the Operator SDK in place of its fixed thread pool. When all
+ * threads are busy, the queued reconciliations of KafkaAccess resources that have not been bound to a Secret yet or
+ * whose spec changed since the last reconciliation run before the reconciliations triggered by the Kafka clusters,
+ * the Secrets and the resyncs. Reconciliations with the same priority are shared between the namespaces by a
+ * {@link NamespaceFairScheduler} and otherwise run in the order they were queued.
+ *
+ * When the number of concurrent reconciliations of the KafkaAccess resources of each Kafka cluster is set lower than
+ * the number of threads, it is limited by a {@link KafkaClusterBulkhead}, so that the KafkaAccess resources of the
+ * other clusters still get threads while the reconciliations of a large cluster fan out.
+ */
+public class PriorityReconcileExecutor extends ThreadPoolExecutor {
+
+    /**
+     * Name of the gauge with the number of queued reconciliations, tagged by priority
+     */
+    public static final String QUEUE_DEPTH = "strimzi.access.reconcile.queue.depth";
+
+    /**
+     * Name of the priority tag
+     */
+    public static final String PRIORITY_TAG = "priority";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(PriorityReconcileExecutor.class);
+    private static final String RECONCILER_TASK_CLASS = "io.javaoperatorsdk.operator.processing.event.EventProcessor$ReconcilerExecutor";
+    private static final String EXECUTION_SCOPE_FIELD = "executionScope";
+    private static final String GET_RESOURCE_METHOD = "getResource";
+    private static final boolean READS_PRIMARY_RESOURCES = checkReconcilerTask();
+    private static final Comparator<Runnable> ORDER = Comparator
+            .comparing(PriorityReconcileExecutor::taskPriority)
+            .thenComparingLong(PriorityReconcileExecutor::startTagOf)
+            .thenComparingLong(PriorityReconcileExecutor::sequenceOf);
+
+    private final AtomicLong sequence = new AtomicLong();
+    private final Map<Priority, AtomicInteger> queueDepths = new EnumMap<>(Priority.class);
+    private final KafkaClusterBulkhead<PrioritizedTask> bulkhead;
+    private final NamespaceFairScheduler fairScheduler;
+
+    /**
+     * Priority of a reconciliation
+     */
+    public enum Priority {
+        /**
+         * KafkaAccess resource that has not been bound to a Secret yet or whose spec changed
+         */
+        HIGH,
+        /**
+         * Reconciliation triggered by a secondary resource or a resync
+         */
+        NORMAL
+    }
+
+    /**
+     * Creates a new PriorityReconcileExecutor and registers the queue depth gauges.
+     *
+     * @param threads                 The number of reconciliation threads
+     * @param threadsPerKafkaCluster  The maximum number of concurrent reconciliations of the KafkaAccess resources of
+     *                                a Kafka cluster, not limited if it is not lower than the number of threads
+     * @param fairScheduling          Whether the reconciliations are shared fairly between the namespaces
+     * @param threadFactory           The factory of the reconciliation threads
+     * @param registry                The meter registry
+     */
+    public PriorityReconcileExecutor(final int threads, final int threadsPerKafkaCluster, final boolean fairScheduling,
+                                     final ThreadFactory threadFactory, final MeterRegistry registry) {
+        super(threads, threads, 0L, TimeUnit.MILLISECONDS, new PriorityBlockingQueue<>(threads, ORDER), threadFactory);
+        this.bulkhead = threadsPerKafkaCluster < threads ? new KafkaClusterBulkhead<>(threadsPerKafkaCluster, ORDER, registry) : null;
+        this.fairScheduler = new NamespaceFairScheduler(fairScheduling, registry);
+        for (final Priority priority : Priority.values()) {
+            final AtomicInteger depth = new AtomicInteger();
+            queueDepths.put(priority, depth);
+            Gauge.builder(QUEUE_DEPTH, depth, AtomicInteger::get)
+                    .description("Number of KafkaAccess reconciliations waiting for a thread, by priority")
+                    .tag(PRIORITY_TAG, priority.name().toLowerCase(Locale.ROOT))
+                    .register(registry);
+        }
+    }
+
+    @Override
+    public void execute(final Runnable command) {
+        final Object primaryResource = primaryResourceOf(command);
+        final PrioritizedTask task;
+        if (primaryResource instanceof KafkaAccess kafkaAccess) {
+            final String namespace = kafkaAccess.getMetadata().getNamespace();
+            task = new PrioritizedTask(command, priorityOf(kafkaAccess), fairScheduler.startTag(namespace), sequence.getAndIncrement(),
+                    namespace, KafkaAccessMapper.kafkaPrimaryToSecondaryMapper(kafkaAccess).stream().findFirst().orElse(null), System.nanoTime());
+        } else {
+            task = new PrioritizedTask(command, Priority.NORMAL, fairScheduler.startTag(null), sequence.getAndIncrement(), null, null, System.nanoTime());
+        }
+        queueDepths.get(task.priority()).incrementAndGet();
+        if (!usesBulkhead(task) || bulkhead.tryAcquire(task.kafka(), task)) {
+            enqueue(task);
+        }
+    }
+
+    /**
+     * Hands a reconciliation which passed the bulkhead to the priority queue of the thread pool.
+     */
+    private void enqueue(final PrioritizedTask task) {
+        try {
+            super.execute(task);
+        } catch (RejectedExecutionException e) {
+            queueDepths.get(task.priority()).decrementAndGet();
+            throw e;
+        }
+    }
+
+    @Override
+    protected void beforeExecute(final Thread thread, final Runnable runnable) {
+        if (runnable instanceof PrioritizedTask task) {
+            queueDepths.get(task.priority()).decrementAndGet();
+            fairScheduler.started(task.namespace(), task.startTag(), System.nanoTime() - task.queuedNanos());
+        }
+        super.beforeExecute(thread, runnable);
+    }
+
+    @Override
+    protected void afterExecute(final Runnable runnable, final Throwable throwable) {
+        super.afterExecute(runnable, throwable);
+        if (runnable instanceof PrioritizedTask task && usesBulkhead(task)) {
+            PrioritizedTask next = bulkhead.release(task.kafka());
+            while (next != null) {
+                try {
+                    enqueue(next);
+                    return;
+                } catch (RejectedExecutionException e) {
+                    // The executor is shutting down, the reconciliations waiting for the bulkhead are drained on this
+                    // thread like the ones in the queue of the executor
+                    runQueued(next);
+                    next = bulkhead.release(task.kafka());
+                }
+            }
+        }
+    }
+
+    private boolean usesBulkhead(final PrioritizedTask task) {
+        return bulkhead != null && task.kafka() != null;
+    }
+
+    private static void runQueued(final PrioritizedTask task) {
+        try {
+            task.run();
+        } catch (RuntimeException e) {
+            LOGGER.warn("Queued reconciliation of Kafka cluster {} failed during shutdown", task.kafka(), e);
+        }
+    }
+
+    /**
+     * Gets the number of queued reconciliations with a priority.
+     *
+     * @param priority  The priority
+     *
+     * @return  The number of queued reconciliations
+     */
+    public int queueDepth(final Priority priority) {
+        return queueDepths.get(priority).get();
+    }
+
+    /**
+     * Determines the priority of the reconciliation of a KafkaAccess resource.
+     *
+     * @param kafkaAccess   The KafkaAccess resource
+     *
+     * @return  HIGH if the KafkaAccess resource has no binding or its observed generation is behind its generation
+     */
+    public static Priority priorityOf(final KafkaAccess kafkaAccess) {
+        final KafkaAccessStatus status = kafkaAccess.getStatus();
+        if (status == null || status.getBinding() == null) {
+            return Priority.HIGH;
+        }
+        final Long generation = kafkaAccess.getMetadata().getGeneration();
+        return generation != null && status.getObservedGeneration() < generation ? Priority.HIGH : Priority.NORMAL;
+    }
+
+    /**
+     * Checks once, when the class is loaded, that the primary resource can be read from the reconciliation tasks of the
+     * Operator SDK. The SDK does not expose it, so a WARN is logged if the SDK changed or the runtime restricts the
+     * reflective access, as all reconciliations then get the normal priority.
+     */
+    private static boolean checkReconcilerTask() {
+        try {
+            final Field executionScope = Class.forName(RECONCILER_TASK_CLASS).getDeclaredField(EXECUTION_SCOPE_FIELD);
+            executionScope.setAccessible(true);
+            executionScope.getType().getMethod(GET_RESOURCE_METHOD).setAccessible(true);
+            return true;
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            LOGGER.warn("Cannot read the KafkaAccess resources of the Operator SDK reconciliations, they will not be prioritized", e);
+            return false;
+        }
+    }
+
+    /**
+     * Checks whether the primary resources of the reconciliation tasks of the Operator SDK can be read, so that the
+     * reconciliations are prioritized.
+     *
+     * @return  True if the primary resources can be read
+     */
+    static boolean readsPrimaryResources() {
+        return READS_PRIMARY_RESOURCES;
+    }
+
+    /**
+     * Gets the primary resource of a reconciliation submitted by the Operator SDK. The SDK does not expose it, so it
+     * is read from the execution scope of the task. If that fails, the reconciliation gets the normal priority.
+     */
+    private static Object primaryResourceOf(final Runnable command) {
+        if (!READS_PRIMARY_RESOURCES) {
+            return null;
+        }
+        try {
+            final Field executionScopeField = command.getClass().getDeclaredField(EXECUTION_SCOPE_FIELD);
+            executionScopeField.setAccessible(true);
+            final Object executionScope = executionScopeField.get(command);
+            final Method getResource = executionScope.getClass().getMethod(GET_RESOURCE_METHOD);
+            getResource.setAccessible(true);
+            return getResource.invoke(executionScope);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            LOGGER.trace("Could not read the primary resource of task {}", command, e);
+            return null;
+        }
+    }
+
+    private static Priority taskPriority(final Runnable runnable) {
+        return runnable instanceof PrioritizedTask task ? task.priority() : Priority.NORMAL;
+    }
+
+    private static long startTagOf(final Runnable runnable) {
+        return runnable instanceof PrioritizedTask task ? task.startTag() : Long.MAX_VALUE;
+    }
+
+    private static long sequenceOf(final Runnable runnable) {
+        return runnable instanceof PrioritizedTask task ? task.sequence() : Long.MAX_VALUE;
+    }
+
+    private record PrioritizedTask(Runnable command, Priority priority, long startTag, long sequence, String namespace, ResourceID kafka,
+                                   long queuedNanos) implements Runnable {
+        @Override
+        public void run() {
+            command.run();
+        }
+    }
+}
@@ -0,0 +1,205 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.strimzi.kafka.access.internal;
+
+import io.javaoperatorsdk.operator.processing.event.ResourceID;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.strimzi.kafka.access.model.KafkaAccess;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Measures how long a change of a Kafka cluster, a KafkaUser, their Secrets or a KafkaAccess resource takes to reach
+ * the KafkaAccess Secret. The time each triggering event was observed by an informer is kept per KafkaAccess resource
+ * until its next reconciliation takes it. When that reconciliation writes the Secret, the time since each trigger was
+ * first observed is recorded in a histogram tagged by the trigger. Reconciliations that do not write the Secret drop
+ * the triggers, as the change did not affect the Secret.
+ */
+public class PropagationTracker {
+
+    /**
+     * Name of the timer with the time from observing a change until the KafkaAccess Secret was written, tagged by trigger
+     */
+    public static final String SECRET_PROPAGATION = "strimzi.access.secret.propagation";
+
+    /**
+     * Name of the trigger tag
+     */
+    public static final String TRIGGER_TAG = "trigger";
+
+    /**
+     * The resources whose changes trigger the reconciliation of a KafkaAccess resource
+     */
+    public enum Trigger {
+        /**
+         * A Kafka cluster, for example a change of its listeners
+         */
+        KAFKA("kafka"),
+
+        /**
+         * A KafkaUser, for example a change of its authentication
+         */
+        KAFKA_USER("kafka_user"),
+
+        /**
+         * The Secret of a KafkaUser, for example a password rotation
+         */
+        USER_SECRET("user_secret"),
+
+        /**
+         * The cluster CA certificate Secret of a Kafka cluster, for example a CA renewal
+         */
+        CA_SECRET("ca_secret"),
+
+        /**
+         * The KafkaAccess resource itself, when it is created or its spec changes
+         */
+        PRIMARY("primary");
+
+        private final String tagValue;
+
+        Trigger(final String tagValue) {
+            this.tagValue = tagValue;
+        }
+
+        /**
+         * Gets the value of the trigger tag.
+         *
+         * @return  The tag value
+         */
+        public String getTagValue() {
+            return tagValue;
+        }
+    }
+
+    private final Map<ResourceID, Map<Trigger, Long>> pendingTriggers = new ConcurrentHashMap<>();
+    private final Map<Trigger, Timer> propagationTimers = new EnumMap<>(Trigger.class);
+    private final LongSupplier nanoTime;
+
+    /**
+     * Creates a new PropagationTracker.
+     *
+     * @param registry  The meter registry the propagation timers are registered in
+     */
+    public PropagationTracker(final MeterRegistry registry) {
+        this(registry, System::nanoTime);
+    }
+
+    PropagationTracker(final MeterRegistry registry, final LongSupplier nanoTime) {
+        this.nanoTime = nanoTime;
+        for (final Trigger trigger : Trigger.values()) {
+            propagationTimers.put(trigger, Timer.builder(SECRET_PROPAGATION)
+                    .description("Time from observing a change until the KafkaAccess Secret was written, by the trigger of the change")
+                    .tag(TRIGGER_TAG, trigger.getTagValue())
+                    .publishPercentileHistogram()
+                    .minimumExpectedValue(Duration.ofMillis(10))
+                    .maximumExpectedValue(Duration.ofMinutes(10))
+                    .register(registry));
+        }
+    }
+
+    /**
+     * Records that a change of a secondary resource was observed for the KafkaAccess resources it maps to. A trigger
+     * observed again before the KafkaAccess is reconciled keeps the time it was first observed.
+     *
+     * @param trigger               The kind of the changed resource
+     * @param primaryResourceIDs    The KafkaAccess resources affected by the change
+     *
+     * @return  The same KafkaAccess resources, so that the call can wrap a secondary to primary mapper
+     */
+    public Set<ResourceID> observed(final Trigger trigger, final Set<ResourceID> primaryResourceIDs) {
+        final long now = nanoTime.getAsLong();
+        primaryResourceIDs.forEach(primaryResourceID -> observed(trigger, primaryResourceID, now));
+        return primaryResourceIDs;
+    }
+
+    private void observed(final Trigger trigger, final ResourceID primaryResourceID, final long observedNanos) {
+        pendingTriggers.compute(primaryResourceID, (id, triggers) -> {
+            final Map<Trigger, Long> updated = triggers == null ? new EnumMap<>(Trigger.class) : triggers;
+            updated.merge(trigger, observedNanos, Math::min);
+            return updated;
+        });
+    }
+
+    /**
+     * Records that a KafkaAccess resource was added. Always accepts the event, so it can be used as the add filter of
+     * the KafkaAccess event source.
+     *
+     * @param kafkaAccess   The added KafkaAccess resource
+     *
+     * @return  Always true
+     */
+    public boolean primaryAdded(final KafkaAccess kafkaAccess) {
+        observed(Trigger.PRIMARY, ResourceID.fromResource(kafkaAccess), nanoTime.getAsLong());
+        return true;
+    }
+
+    /**
+     * Records that the spec of a KafkaAccess resource changed. Updates which do not change the generation, such as the
+     * status patches of the operator, are not recorded. Always accepts the event, so it can be used as the update
+     * filter of the KafkaAccess event source.
+     *
+     * @param newKafkaAccess    The updated KafkaAccess resource
+     * @param oldKafkaAccess    The KafkaAccess resource before the update
+     *
+     * @return  Always true
+     */
+    public boolean primaryUpdated(final KafkaAccess newKafkaAccess, final KafkaAccess oldKafkaAccess) {
+        if (!Objects.equals(newKafkaAccess.getMetadata().getGeneration(), oldKafkaAccess.getMetadata().getGeneration())) {
+            observed(Trigger.PRIMARY, ResourceID.fromResource(newKafkaAccess), nanoTime.getAsLong());
+        }
+        return true;
+    }
+
+    /**
+     * Takes the triggers observed for a KafkaAccess resource since its last reconciliation.
+     *
+     * @param primaryResourceID     The KafkaAccess resource
+     *
+     * @return  The times the triggers were first observed, empty if none was observed
+     */
+    public Map<Trigger, Long> take(final ResourceID primaryResourceID) {
+        final Map<Trigger, Long> triggers = pendingTriggers.remove(primaryResourceID);
+        return triggers == null ? Map.of() : triggers;
+    }
+
+    /**
+     * Puts back the triggers of a reconciliation that failed, so that the retry which writes the Secret records them.
+     *
+     * @param primaryResourceID     The KafkaAccess resource
+     * @param triggers              The triggers taken by the failed reconciliation
+     */
+    public void restore(final ResourceID primaryResourceID, final Map<Trigger, Long> triggers) {
+        triggers.forEach((trigger, observedNanos) -> observed(trigger, primaryResourceID, observedNanos));
+    }
+
+    /**
+     * Records the propagation time of the triggers of a reconciliation which wrote the KafkaAccess Secret.
+     *
+     * @param triggers  The triggers taken by the reconciliation
+     */
+    public void secretWritten(final Map<Trigger, Long> triggers) {
+        final long now = nanoTime.getAsLong();
+        triggers.forEach((trigger, observedNanos) ->
+                propagationTimers.get(trigger).record(now - observedNanos, TimeUnit.NANOSECONDS));
+    }
+
+    /**
+     * Gets the number of KafkaAccess resources with triggers which were not taken by a reconciliation yet.
+     *
+     * @return  The number of KafkaAccess resources with pending triggers
+     */
+    public int pendingResources() {
+        return pendingTriggers.size();
+    }
+}
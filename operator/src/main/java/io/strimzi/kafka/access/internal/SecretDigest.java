@@ -0,0 +1,65 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.strimzi.kafka.access.internal;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Computes the digest of the desired content of a Secret generated for a KafkaAccess resource.
+ * The digest is stored on the Secret as an annotation, so that a reconcile can tell that the desired content of the
+ * Secret did not change by comparing a single value. It does not cover changes made to the Secret by other parties,
+ * so the reconcile still compares the data of the Secret with the desired data when the digest matches.
+ */
+public class SecretDigest {
+
+    /**
+     * The annotation holding the digest of the desired content of the Secret
+     */
+    public static final String ANNOTATION = "access.strimzi.io/secret-digest";
+
+    private static final String ALGORITHM = "SHA-256";
+
+    /**
+     * Computes the digest of the desired data, labels and annotations of a Secret.
+     * The result does not depend on the iteration order of the maps.
+     *
+     * @param data          The desired data of the Secret
+     * @param labels        The desired labels of the Secret
+     * @param annotations   The desired annotations of the Secret
+     *
+     * @return              The hex encoded digest
+     */
+    public static String of(final Map<String, String> data, final Map<String, String> labels, final Map<String, String> annotations) {
+        final MessageDigest digest = newMessageDigest();
+        update(digest, "data", data);
+        update(digest, "labels", labels);
+        update(digest, "annotations", annotations);
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static void update(final MessageDigest digest, final String section, final Map<String, String> entries) {
+        digest.update(section.getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+        new TreeMap<>(entries).forEach((key, value) -> {
+            digest.update(key.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            digest.update(String.valueOf(value).getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+        });
+    }
+
+    private static MessageDigest newMessageDigest() {
+        try {
+            return MessageDigest.getInstance(ALGORITHM);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(String.format("Message digest algorithm %s is not available", ALGORITHM), e);
+        }
+    }
+}
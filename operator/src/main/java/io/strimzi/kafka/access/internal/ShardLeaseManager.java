@@ -0,0 +1,410 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.strimzi.kafka.access.internal;
+
+import io.fabric8.kubernetes.api.model.coordination.v1.Lease;
+import io.fabric8.kubernetes.api.model.coordination.v1.LeaseBuilder;
+import io.fabric8.kubernetes.api.model.coordination.v1.LeaseSpec;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.KubernetesClientException;
+import io.javaoperatorsdk.operator.OperatorException;
+import io.javaoperatorsdk.operator.api.reconciler.IndexedResourceCache;
+import io.javaoperatorsdk.operator.processing.event.Event;
+import io.javaoperatorsdk.operator.processing.event.ResourceID;
+import io.javaoperatorsdk.operator.processing.event.source.AbstractEventSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.strimzi.kafka.access.KafkaAccessOperatorConfig;
+import io.strimzi.kafka.access.model.KafkaAccess;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Shares the reconciliation of the KafkaAccess resources between the replicas of the operator. The KafkaAccess
+ * resources are split into shards by the hash of their namespace and name, and each shard is owned by the replica
+ * holding its Lease. Each replica also holds a member Lease, so that the replicas know how many of them are alive and
+ * own an equal share of the shards each: replicas above their share release shards and replicas below it acquire the
+ * free and expired ones. When a replica acquires a shard, the KafkaAccess resources of the shard are reconciled.
+ *
+ * Sharding only distributes the reconciliations. Every replica still watches and caches all the KafkaAccess, Kafka,
+ * KafkaUser and Secret resources, so the memory of each replica and the list and watch requests to the Kubernetes API
+ * are not split. To split them, separate operator instances select their KafkaAccess resources and Secrets with
+ * STRIMZI_KAFKA_ACCESS_LABEL_SELECTOR and STRIMZI_KAFKA_SECRET_LABEL_SELECTOR.
+ */
+@SuppressWarnings("ClassFanOutComplexity")
+public class ShardLeaseManager extends AbstractEventSource<Void, KafkaAccess> {
+
+    /**
+     * Name of the event source
+     */
+    public static final String NAME = "SHARD_LEASE_MANAGER";
+
+    /**
+     * Label with the name of the group of Leases of the operator replicas
+     */
+    public static final String LEASE_GROUP_LABEL = "access.strimzi.io/lease-group";
+
+    /**
+     * Label with the type of a Lease of the group, member or shard
+     */
+    public static final String LEASE_TYPE_LABEL = "access.strimzi.io/lease-type";
+
+    /**
+     * Name of the gauge with the number of shards owned by the replica
+     */
+    public static final String OWNED_SHARDS = "strimzi.access.shards.owned";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ShardLeaseManager.class);
+    private static final String MEMBER = "member";
+    private static final String SHARD = "shard";
+
+    private final KubernetesClient kubernetesClient;
+    private final IndexedResourceCache<KafkaAccess> primaryCache;
+    private final Supplier<Instant> clock;
+    private final String namespace;
+    private final String leaseGroup;
+    private final String identity;
+    private final int shardCount;
+    private final int leaseDurationSeconds;
+    private final long renewPeriodMs;
+    private final Map<Integer, Instant> ownedShards = new ConcurrentHashMap<>();
+    private ScheduledExecutorService executor;
+
+    /**
+     * Creates a new ShardLeaseManager.
+     *
+     * @param kubernetesClient  The Kubernetes client
+     * @param config            The operator configuration with the number of shards and the Lease settings
+     * @param primaryCache      The cache of the KafkaAccess resources
+     * @param registry          The meter registry
+     */
+    public ShardLeaseManager(final KubernetesClient kubernetesClient, final KafkaAccessOperatorConfig config,
+                             final IndexedResourceCache<KafkaAccess> primaryCache, final MeterRegistry registry) {
+        this(kubernetesClient, config, primaryCache, registry, Instant::now);
+    }
+
+    ShardLeaseManager(final KubernetesClient kubernetesClient, final KafkaAccessOperatorConfig config,
+                      final IndexedResourceCache<KafkaAccess> primaryCache, final MeterRegistry registry, final Supplier<Instant> clock) {
+        super(Void.class, NAME);
+        this.kubernetesClient = kubernetesClient;
+        this.primaryCache = primaryCache;
+        this.clock = clock;
+        this.namespace = Optional.ofNullable(config.getLeaderElectionLeaseNamespace()).orElseGet(kubernetesClient::getNamespace);
+        this.leaseGroup = config.getLeaderElectionLeaseName();
+        this.identity = Optional.ofNullable(config.getLeaderElectionIdentity())
+                .or(() -> Optional.ofNullable(System.getenv("HOSTNAME")))
+                .orElseGet(() -> UUID.randomUUID().toString());
+        this.shardCount = config.getShardCount();
+        this.leaseDurationSeconds = (int) Math.max(1, config.getLeaderElectionLeaseDuration().toSeconds());
+        this.renewPeriodMs = config.getLeaderElectionRetryPeriod().toMillis();
+        Gauge.builder(OWNED_SHARDS, ownedShards, Map::size)
+                .description("Number of KafkaAccess shards reconciled by this operator replica")
+                .register(registry);
+    }
+
+    /**
+     * Determines the shard of a KafkaAccess resource. String hash codes are the same in every JVM, so all replicas
+     * agree on the shards.
+     *
+     * @param kafkaAccess   The KafkaAccess resource
+     * @param shardCount    The number of shards
+     *
+     * @return  The shard, from 0 to the number of shards - 1
+     */
+    public static int shardOf(final ResourceID kafkaAccess, final int shardCount) {
+        return Math.floorMod((kafkaAccess.getNamespace().orElse("") + "/" + kafkaAccess.getName()).hashCode(), shardCount);
+    }
+
+    /**
+     * Checks whether this replica reconciles a KafkaAccess resource. A shard whose Lease could not be renewed in time
+     * is no longer owned, even before another replica takes it over.
+     *
+     * @param kafkaAccess   The KafkaAccess resource
+     *
+     * @return  True if the shard of the KafkaAccess resource is owned by this replica
+     */
+    public boolean owns(final ResourceID kafkaAccess) {
+        return isOwned(shardOf(kafkaAccess, shardCount), clock.get());
+    }
+
+    private boolean isOwned(final int shard, final Instant now) {
+        final Instant ownedUntil = ownedShards.get(shard);
+        return ownedUntil != null && now.isBefore(ownedUntil);
+    }
+
+    /**
+     * Gets the shards owned by this replica.
+     *
+     * @return  The owned shards
+     */
+    public Set<Integer> ownedShards() {
+        return Set.copyOf(ownedShards.keySet());
+    }
+
+    /**
+     * Renews the member Lease of this replica, releases the shards above its share and acquires free shards up to it.
+     */
+    synchronized void rebalance() {
+        final Instant now = clock.get();
+        renew(memberLeaseName(), MEMBER, now);
+        final List<Lease> leases = kubernetesClient.resources(Lease.class).inNamespace(namespace)
+                .withLabel(LEASE_GROUP_LABEL, leaseGroup)
+                .list().getItems();
+        final int members = Math.max(1, liveMembers(leases, now));
+        final int share = (shardCount + members - 1) / members;
+        final Map<Integer, Lease> shardLeases = shardLeases(leases);
+        final int owned = renewOwnedShards(shardLeases, share, now);
+        acquireFreeShards(shardLeases, share - owned, now);
+    }
+
+    /**
+     * Counts the replicas whose member Lease is renewed, and deletes the member Leases of the replicas that are gone.
+     */
+    private int liveMembers(final List<Lease> leases, final Instant now) {
+        int members = 0;
+        for (final Lease lease : leases) {
+            if (MEMBER.equals(lease.getMetadata().getLabels().get(LEASE_TYPE_LABEL))) {
+                if (isExpired(lease, now)) {
+                    deleteExpiredMember(lease);
+                } else {
+                    members++;
+                }
+            }
+        }
+        return members;
+    }
+
+    private Map<Integer, Lease> shardLeases(final List<Lease> leases) {
+        final Map<Integer, Lease> shardLeases = new TreeMap<>();
+        for (final Lease lease : leases) {
+            if (SHARD.equals(lease.getMetadata().getLabels().get(LEASE_TYPE_LABEL))) {
+                shardIndex(lease).ifPresent(shard -> shardLeases.put(shard, lease));
+            }
+        }
+        return shardLeases;
+    }
+
+    /**
+     * Renews the Leases of the shards held by this replica up to its share and releases the others. A shard whose
+     * renewal failed, for example because of a conflict or a throttled request, is kept until its Lease expires, so that
+     * a transient error does not move the shard to another replica. The next rebalance retries the renewal.
+     */
+    private int renewOwnedShards(final Map<Integer, Lease> shardLeases, final int share, final Instant now) {
+        int owned = 0;
+        for (int shard = 0; shard < shardCount; shard++) {
+            final Lease lease = shardLeases.get(shard);
+            if (lease == null || !identity.equals(lease.getSpec().getHolderIdentity())) {
+                ownedShards.remove(shard);
+            } else if (owned >= share) {
+                release(shard, lease);
+            } else if (update(lease, identity, now)) {
+                ownedShards.put(shard, now.plusSeconds(leaseDurationSeconds));
+                owned++;
+            } else if (isOwned(shard, now)) {
+                LOGGER.debug("Could not renew shard {} of {}, keeping it until its Lease expires", shard, shardCount);
+                owned++;
+            } else {
+                ownedShards.remove(shard);
+            }
+        }
+        return owned;
+    }
+
+    private void acquireFreeShards(final Map<Integer, Lease> shardLeases, final int missing, final Instant now) {
+        int acquired = 0;
+        for (int shard = 0; shard < shardCount && acquired < missing; shard++) {
+            if (!ownedShards.containsKey(shard) && acquire(shard, shardLeases.get(shard), now)) {
+                ownedShards.put(shard, now.plusSeconds(leaseDurationSeconds));
+                acquired++;
+                LOGGER.info("Acquired shard {} of {}, reconciling its KafkaAccess resources", shard, shardCount);
+                triggerShard(shard);
+            }
+        }
+    }
+
+    private boolean acquire(final int shard, final Lease lease, final Instant now) {
+        if (lease == null) {
+            return create(shardLeaseName(shard), SHARD, now);
+        }
+        final String holder = lease.getSpec().getHolderIdentity();
+        if (holder == null || holder.isEmpty() || isExpired(lease, now)) {
+            return update(lease, identity, now);
+        }
+        return false;
+    }
+
+    private void release(final int shard, final Lease lease) {
+        ownedShards.remove(shard);
+        if (update(lease, null, clock.get())) {
+            LOGGER.info("Released shard {} of {}", shard, shardCount);
+        }
+    }
+
+    private void triggerShard(final int shard) {
+        primaryCache.list()
+                .map(ResourceID::fromResource)
+                .filter(kafkaAccess -> shardOf(kafkaAccess, shardCount) == shard)
+                .forEach(kafkaAccess -> getEventHandler().handleEvent(new Event(kafkaAccess)));
+    }
+
+    private void renew(final String name, final String type, final Instant now) {
+        final Lease lease = kubernetesClient.resources(Lease.class).inNamespace(namespace).withName(name).get();
+        if (lease == null) {
+            create(name, type, now);
+        } else {
+            update(lease, identity, now);
+        }
+    }
+
+    private boolean create(final String name, final String type, final Instant now) {
+        final Lease lease = new LeaseBuilder()
+                .withNewMetadata()
+                    .withName(name)
+                    .withNamespace(namespace)
+                    .addToLabels(LEASE_GROUP_LABEL, leaseGroup)
+                    .addToLabels(LEASE_TYPE_LABEL, type)
+                .endMetadata()
+                .withNewSpec()
+                    .withHolderIdentity(identity)
+                    .withLeaseDurationSeconds(leaseDurationSeconds)
+                    .withAcquireTime(ZonedDateTime.ofInstant(now, ZoneOffset.UTC))
+                    .withRenewTime(ZonedDateTime.ofInstant(now, ZoneOffset.UTC))
+                    .withLeaseTransitions(0)
+                .endSpec()
+                .build();
+        try {
+            kubernetesClient.resource(lease).create();
+            return true;
+        } catch (KubernetesClientException e) {
+            LOGGER.debug("Could not create Lease {}/{}", namespace, name, e);
+            return false;
+        }
+    }
+
+    /**
+     * Updates the holder and the renew time of a Lease. The update is rejected if the Lease changed since it was read,
+     * so two replicas cannot both take over the same Lease.
+     */
+    private boolean update(final Lease lease, final String holder, final Instant now) {
+        final LeaseSpec spec = lease.getSpec();
+        final boolean transition = holder != null && !holder.equals(spec.getHolderIdentity());
+        final Lease updated = new LeaseBuilder(lease)
+                .editSpec()
+                    .withHolderIdentity(holder)
+                    .withLeaseDurationSeconds(leaseDurationSeconds)
+                    .withRenewTime(ZonedDateTime.ofInstant(now, ZoneOffset.UTC))
+                .endSpec()
+                .build();
+        if (transition) {
+            updated.getSpec().setAcquireTime(ZonedDateTime.ofInstant(now, ZoneOffset.UTC));
+            updated.getSpec().setLeaseTransitions(Optional.ofNullable(spec.getLeaseTransitions()).orElse(0) + 1);
+        }
+        try {
+            kubernetesClient.resource(updated).update();
+            return true;
+        } catch (KubernetesClientException e) {
+            LOGGER.debug("Could not update Lease {}/{}", namespace, lease.getMetadata().getName(), e);
+            return false;
+        }
+    }
+
+    private void deleteExpiredMember(final Lease lease) {
+        try {
+            kubernetesClient.resource(lease).delete();
+        } catch (KubernetesClientException e) {
+            LOGGER.debug("Could not delete expired Lease {}/{}", namespace, lease.getMetadata().getName(), e);
+        }
+    }
+
+    private boolean isExpired(final Lease lease, final Instant now) {
+        final LeaseSpec spec = lease.getSpec();
+        if (spec == null || spec.getRenewTime() == null) {
+            return true;
+        }
+        final int duration = Optional.ofNullable(spec.getLeaseDurationSeconds()).orElse(leaseDurationSeconds);
+        return !now.isBefore(spec.getRenewTime().toInstant().plusSeconds(duration));
+    }
+
+    private Optional<Integer> shardIndex(final Lease lease) {
+        final String prefix = leaseGroup + "-" + SHARD + "-";
+        final String name = lease.getMetadata().getName();
+        try {
+            return name.startsWith(prefix) ? Optional.of(Integer.parseInt(name.substring(prefix.length()))) : Optional.empty();
+        } catch (NumberFormatException e) {
+            return Optional.empty();
+        }
+    }
+
+    private String shardLeaseName(final int shard) {
+        return leaseGroup + "-" + SHARD + "-" + shard;
+    }
+
+    private String memberLeaseName() {
+        return leaseGroup + "-" + MEMBER + "-" + identity;
+    }
+
+    private void rebalanceQuietly() {
+        try {
+            rebalance();
+        } catch (RuntimeException e) {
+            LOGGER.warn("Failed to rebalance the KafkaAccess shards", e);
+        }
+    }
+
+    @Override
+    public Set<Void> getSecondaryResources(final KafkaAccess primary) {
+        return Set.of();
+    }
+
+    @Override
+    public synchronized void start() throws OperatorException {
+        super.start();
+        LOGGER.info("Sharding the KafkaAccess resources into {} shards as {} using the Leases {}/{}", shardCount, identity, namespace, leaseGroup);
+        executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            final Thread thread = new Thread(runnable, "shard-lease-manager");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.scheduleWithFixedDelay(this::rebalanceQuietly, 0, renewPeriodMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stops renewing the Leases and releases them, so that the other replicas take over the shards right away.
+     */
+    @Override
+    public synchronized void stop() throws OperatorException {
+        super.stop();
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+        try {
+            for (final Integer shard : Set.copyOf(ownedShards.keySet())) {
+                final Lease lease = kubernetesClient.resources(Lease.class).inNamespace(namespace).withName(shardLeaseName(shard)).get();
+                if (lease != null && identity.equals(lease.getSpec().getHolderIdentity())) {
+                    release(shard, lease);
+                }
+            }
+            kubernetesClient.resources(Lease.class).inNamespace(namespace).withName(memberLeaseName()).delete();
+        } catch (KubernetesClientException e) {
+            LOGGER.warn("Failed to release the KafkaAccess shard Leases", e);
+        }
+        ownedShards.clear();
+    }
+}
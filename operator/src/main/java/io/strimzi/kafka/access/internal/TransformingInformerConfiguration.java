@@ -0,0 +1,90 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.strimzi.kafka.access.internal;
+
+import io.fabric8.kubernetes.api.model.HasMetadata;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.informers.cache.ItemStore;
+import io.javaoperatorsdk.operator.api.config.informer.InformerConfiguration;
+import io.javaoperatorsdk.operator.api.config.informer.InformerEventSourceConfiguration;
+import io.javaoperatorsdk.operator.processing.GroupVersionKind;
+import io.javaoperatorsdk.operator.processing.event.source.PrimaryToSecondaryMapper;
+import io.javaoperatorsdk.operator.processing.event.source.SecondaryToPrimaryMapper;
+
+import java.util.Optional;
+import java.util.function.UnaryOperator;
+
+/**
+ * Informer event source configuration that gives every informer of the event source its own TransformingItemStore.
+ * JOSDK runs one informer per namespace when a set of namespaces is watched, and asks the configuration for the item
+ * store once for each of them. A single item store shared by these informers would be emptied by each informer for
+ * the others when it relists, so a new item store is created every time one is asked for.
+ *
+ * @param <R>   Type of the cached resources
+ */
+public class TransformingInformerConfiguration<R extends HasMetadata> implements InformerEventSourceConfiguration<R> {
+
+    private final InformerEventSourceConfiguration<R> delegate;
+    private final InformerConfiguration<R> informerConfig;
+
+    /**
+     * Creates a new TransformingInformerConfiguration.
+     *
+     * @param delegate      The configuration of the event source, without an item store
+     * @param transform     Returns the resource to store for a resource received by an informer, it must not
+     *                      modify the resource it is passed
+     */
+    public TransformingInformerConfiguration(final InformerEventSourceConfiguration<R> delegate, final UnaryOperator<R> transform) {
+        this.delegate = delegate;
+        this.informerConfig = new PerInformerItemStoreConfiguration<>(delegate.getInformerConfig(), transform);
+    }
+
+    @Override
+    public InformerConfiguration<R> getInformerConfig() {
+        return informerConfig;
+    }
+
+    @Override
+    public SecondaryToPrimaryMapper<R> getSecondaryToPrimaryMapper() {
+        return delegate.getSecondaryToPrimaryMapper();
+    }
+
+    @Override
+    public <P extends HasMetadata> PrimaryToSecondaryMapper<P> getPrimaryToSecondaryMapper() {
+        return delegate.getPrimaryToSecondaryMapper();
+    }
+
+    @Override
+    public Optional<GroupVersionKind> getGroupVersionKind() {
+        return delegate.getGroupVersionKind();
+    }
+
+    @Override
+    public Optional<KubernetesClient> getKubernetesClient() {
+        return delegate.getKubernetesClient();
+    }
+
+    /**
+     * Copy of an informer configuration which creates a new item store every time it is asked for one.
+     */
+    private static class PerInformerItemStoreConfiguration<R extends HasMetadata> extends InformerConfiguration<R> {
+
+        private final UnaryOperator<R> transform;
+
+        PerInformerItemStoreConfiguration(final InformerConfiguration<R> original, final UnaryOperator<R> transform) {
+            super(original.getResourceClass(), original.getName(), original.getNamespaces(),
+                    original.getFollowControllerNamespaceChanges(), original.getLabelSelector(), original.getOnAddFilter(),
+                    original.getOnUpdateFilter(), original.getOnDeleteFilter(), original.getGenericFilter(), null,
+                    original.getInformerListLimit(), original.getFieldSelector(), original.isComparableResourceVersions(),
+                    original.getGhostResourceCacheCheckInterval());
+            this.transform = transform;
+        }
+
+        @Override
+        public ItemStore<R> getItemStore() {
+            return new TransformingItemStore<>(transform);
+        }
+    }
+}
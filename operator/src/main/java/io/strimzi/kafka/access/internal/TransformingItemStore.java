@@ -0,0 +1,71 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.strimzi.kafka.access.internal;
+
+import io.fabric8.kubernetes.api.model.HasMetadata;
+import io.fabric8.kubernetes.client.informers.cache.BasicItemStore;
+import io.fabric8.kubernetes.client.informers.cache.Cache;
+import io.fabric8.kubernetes.client.informers.cache.ItemStore;
+
+import java.util.function.UnaryOperator;
+import java.util.stream.Stream;
+
+/**
+ * Informer item store that transforms resources before they are stored in the informer cache, so that the cache
+ * only holds the parts of the resources that the operator reads. The event handlers of the informer still receive
+ * the complete resources.
+ *
+ * @param <R>   Type of the cached resources
+ */
+public class TransformingItemStore<R extends HasMetadata> implements ItemStore<R> {
+
+    private final ItemStore<R> delegate = new BasicItemStore<>(Cache::metaNamespaceKeyFunc);
+    private final UnaryOperator<R> transform;
+
+    /**
+     * Creates a new TransformingItemStore.
+     *
+     * @param transform     Returns the resource to store for a resource received by the informer, it must not
+     *                      modify the resource it is passed
+     */
+    public TransformingItemStore(final UnaryOperator<R> transform) {
+        this.transform = transform;
+    }
+
+    @Override
+    public String getKey(final R resource) {
+        return delegate.getKey(resource);
+    }
+
+    @Override
+    public R put(final String key, final R resource) {
+        return delegate.put(key, transform.apply(resource));
+    }
+
+    @Override
+    public R remove(final String key) {
+        return delegate.remove(key);
+    }
+
+    @Override
+    public Stream<String> keySet() {
+        return delegate.keySet();
+    }
+
+    @Override
+    public Stream<R> values() {
+        return delegate.values();
+    }
+
+    @Override
+    public int size() {
+        return delegate.size();
+    }
+
+    @Override
+    public R get(final String key) {
+        return delegate.get(key);
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.strimzi.kafka.access.internal;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Cache that stores a single value per key together with the version of the inputs it was computed from. A lookup
+ * with a different version recomputes the value and replaces the entry. The cache is bounded, the least recently used
+ * entry is evicted when it is full.
+ *
+ * @param <K>   Type of the keys
+ * @param <V>   Type of the cached values
+ */
+public class VersionedCache<K, V> {
+
+    private final Map<K, Entry<V>> entries;
+
+    /**
+     * Creates a new VersionedCache.
+     *
+     * @param maxSize   The maximum number of entries, the least recently used entry is evicted when it is exceeded
+     */
+    public VersionedCache(final int maxSize) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("The maximum size of the cache must be at least 1");
+        }
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<K, Entry<V>> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    /**
+     * Returns the value cached for the key if it was computed from the same version of the inputs, otherwise
+     * computes it with the supplier and caches it. The supplier is called without holding the lock of the cache,
+     * and exceptions thrown by it are propagated without changing the cache.
+     *
+     * @param key       The key of the entry
+     * @param version   The version of the inputs of the value
+     * @param supplier  Computes the value when it is not cached for this version
+     *
+     * @return          The cached or the computed value
+     */
+    public V get(final K key, final String version, final Supplier<V> supplier) {
+        synchronized (entries) {
+            final Entry<V> entry = entries.get(key);
+            if (entry != null && entry.version().equals(version)) {
+                return entry.value();
+            }
+        }
+        final V value = supplier.get();
+        synchronized (entries) {
+            entries.put(key, new Entry<>(version, value));
+        }
+        return value;
+    }
+
+    /**
+     * Removes the entry for a key.
+     *
+     * @param key   The key of the entry
+     */
+    public void remove(final K key) {
+        synchronized (entries) {
+            entries.remove(key);
+        }
+    }
+
+    /**
+     * Returns the number of cached entries.
+     *
+     * @return  The number of cached entries
+     */
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    private record Entry<V>(String version, V value) { }
+}
@@ -0,0 +1,217 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.strimzi.kafka.access.internal;
+
+import io.fabric8.kubernetes.client.http.AsyncBody;
+import io.fabric8.kubernetes.client.http.BasicBuilder;
+import io.fabric8.kubernetes.client.http.HttpRequest;
+import io.fabric8.kubernetes.client.http.HttpResponse;
+import io.fabric8.kubernetes.client.http.Interceptor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Token bucket that limits the rate of the write requests sent to the Kubernetes API. It is installed as an
+ * interceptor of the HTTP client of the Kubernetes client, so that it is shared by the Secret writes of the reconciler
+ * and the status patches of the Operator SDK.
+ *
+ * The bucket adapts to the API server: when a write is throttled with 429 Too Many Requests the rate is halved and
+ * no writes are sent until the Retry-After delay has passed, and every successful write raises the rate back towards
+ * the configured rate.
+ *
+ * The writes of coordination.k8s.io Leases are not limited. The leader election and the shards renew their Leases
+ * with them, and a renewal delayed behind a backlog of Secret writes would lose the Lease to another replica.
+ *
+ * A write waiting for a token blocks the thread sending it. These are the reconciliation threads for the Secret writes
+ * and the status patches of the Operator SDK, and the scheduler threads of the Kubernetes client when it retries a
+ * failed write. The informers only send reads and are never blocked. The limiter is therefore only installed when a
+ * write rate is configured, and the reconciliation threads have to be sized for the writes waiting at that rate.
+ */
+public class WriteRateLimiter implements Interceptor {
+
+    /**
+     * Name of the interceptor in the HTTP client
+     */
+    public static final String NAME = "strimzi-write-rate-limiter";
+
+    /**
+     * Name of the gauge with the configured rate of writes per second
+     */
+    public static final String CONFIGURED_RATE = "strimzi.access.write.rate.configured";
+
+    /**
+     * Name of the gauge with the current rate of writes per second, which is lower than the configured rate while
+     * the API server throttles the writes
+     */
+    public static final String CURRENT_RATE = "strimzi.access.write.rate.current";
+
+    /**
+     * Name of the counter of the writes throttled by the API server
+     */
+    public static final String THROTTLED = "strimzi.access.write.throttled";
+
+    /**
+     * Name of the timer of the time the writes waited for the rate limiter
+     */
+    public static final String WAIT = "strimzi.access.write.wait";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(WriteRateLimiter.class);
+    private static final Set<String> WRITE_METHODS = Set.of("POST", "PUT", "PATCH", "DELETE");
+    private static final String LEASES_PATH = "/apis/coordination.k8s.io/";
+    private static final int TOO_MANY_REQUESTS = 429;
+    private static final long DEFAULT_RETRY_AFTER_SECONDS = 1;
+    private static final double DECREASE_FACTOR = 0.5;
+    private static final double INCREASE_FRACTION = 0.05;
+    private static final double MIN_RATE_FRACTION = 0.05;
+
+    private final double configuredRate;
+    private final double burst;
+    private final LongSupplier nanoTime;
+    private final Counter throttled;
+    private final Timer wait;
+
+    private double rate;
+    private double tokens;
+    private long lastRefillNanos;
+    private long pausedUntilNanos;
+
+    /**
+     * Creates a new WriteRateLimiter and registers its metrics.
+     *
+     * @param configuredRate    The number of writes per second
+     * @param burst             The number of writes that can be sent at once after the limiter was idle
+     * @param registry          The meter registry
+     */
+    public WriteRateLimiter(final double configuredRate, final int burst, final MeterRegistry registry) {
+        this(configuredRate, burst, registry, System::nanoTime);
+    }
+
+    WriteRateLimiter(final double configuredRate, final int burst, final MeterRegistry registry, final LongSupplier nanoTime) {
+        if (configuredRate <= 0 || burst < 1) {
+            throw new IllegalArgumentException("The write rate must be positive and the burst at least 1");
+        }
+        this.configuredRate = configuredRate;
+        this.burst = burst;
+        this.nanoTime = nanoTime;
+        this.rate = configuredRate;
+        this.tokens = burst;
+        this.lastRefillNanos = nanoTime.getAsLong();
+        this.pausedUntilNanos = lastRefillNanos;
+        Gauge.builder(CONFIGURED_RATE, () -> configuredRate)
+                .description("Configured rate of the writes to the Kubernetes API per second")
+                .register(registry);
+        Gauge.builder(CURRENT_RATE, this::getRate)
+                .description("Current rate of the writes to the Kubernetes API per second, lowered while the API server throttles them")
+                .register(registry);
+        this.throttled = Counter.builder(THROTTLED)
+                .description("Number of writes to the Kubernetes API rejected with 429 Too Many Requests")
+                .register(registry);
+        this.wait = Timer.builder(WAIT)
+                .description("Time the writes to the Kubernetes API waited for the rate limiter")
+                .register(registry);
+    }
+
+    @Override
+    public void before(final BasicBuilder builder, final HttpRequest request, final RequestTags tags) {
+        if (!isWrite(request)) {
+            return;
+        }
+        final long waitNanos = reserve();
+        wait.record(waitNanos, TimeUnit.NANOSECONDS);
+        if (waitNanos > 0) {
+            try {
+                TimeUnit.NANOSECONDS.sleep(waitNanos);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @Override
+    public void after(final HttpRequest request, final HttpResponse<?> response, final AsyncBody.Consumer<List<ByteBuffer>> consumer) {
+        if (isWrite(request) && response.isSuccessful()) {
+            onSuccess();
+        }
+    }
+
+    @Override
+    public CompletableFuture<Boolean> afterFailure(final HttpRequest.Builder builder, final HttpResponse<?> response, final RequestTags tags) {
+        if (response.code() == TOO_MANY_REQUESTS && isWrite(response.request())) {
+            onThrottled(retryAfterSeconds(response.header("Retry-After")));
+        }
+        return CompletableFuture.completedFuture(false);
+    }
+
+    /**
+     * Takes a token from the bucket and returns how long the caller has to wait before sending the write. Tokens are
+     * reserved in advance when the bucket is empty, so concurrent writers are spread out at the current rate.
+     *
+     * @return  The time to wait in nanoseconds
+     */
+    synchronized long reserve() {
+        final long now = refill();
+        tokens -= 1;
+        final long tokenWaitNanos = tokens >= 0 ? 0 : (long) (-tokens / rate * TimeUnit.SECONDS.toNanos(1));
+        return Math.max(tokenWaitNanos, pausedUntilNanos - now);
+    }
+
+    synchronized void onSuccess() {
+        rate = Math.min(configuredRate, rate + configuredRate * INCREASE_FRACTION);
+    }
+
+    synchronized void onThrottled(final long retryAfterSeconds) {
+        refill();
+        rate = Math.max(configuredRate * MIN_RATE_FRACTION, rate * DECREASE_FACTOR);
+        pausedUntilNanos = Math.max(pausedUntilNanos, nanoTime.getAsLong() + TimeUnit.SECONDS.toNanos(retryAfterSeconds));
+        throttled.increment();
+        LOGGER.warn("Kubernetes API throttled a write, lowering the write rate to {}/s and pausing writes for {}s", rate, retryAfterSeconds);
+    }
+
+    /**
+     * Gets the current rate of writes per second.
+     *
+     * @return  The current rate
+     */
+    public synchronized double getRate() {
+        return rate;
+    }
+
+    private long refill() {
+        final long now = nanoTime.getAsLong();
+        tokens = Math.min(burst, tokens + (now - lastRefillNanos) * rate / TimeUnit.SECONDS.toNanos(1));
+        lastRefillNanos = now;
+        return now;
+    }
+
+    private static boolean isWrite(final HttpRequest request) {
+        return request != null && WRITE_METHODS.contains(request.method()) && !isLease(request);
+    }
+
+    private static boolean isLease(final HttpRequest request) {
+        return request.uri() != null && request.uri().getPath() != null && request.uri().getPath().startsWith(LEASES_PATH);
+    }
+
+    private static long retryAfterSeconds(final String retryAfter) {
+        if (retryAfter != null) {
+            try {
+                return Math.max(0, Long.parseLong(retryAfter.trim()));
+            } catch (NumberFormatException e) {
+                LOGGER.debug("Retry-After header {} is not a number of seconds, using the default delay", retryAfter);
+            }
+        }
+        return DEFAULT_RETRY_AFTER_SECONDS;
+    }
+}
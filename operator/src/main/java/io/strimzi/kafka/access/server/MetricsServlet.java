@@ -0,0 +1,45 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.strimzi.kafka.access.server;
+
+import io.micrometer.prometheusmetrics.PrometheusMeterRegistry;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import java.io.IOException;
+import java.io.Serial;
+
+/**
+ * Servlet class exposing the metrics of the operator in the Prometheus text format
+ */
+public class MetricsServlet extends HttpServlet {
+
+    /**
+     * Content type of the Prometheus text format
+     */
+    public static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    private final transient PrometheusMeterRegistry registry;
+
+    /**
+     * Creates a new MetricsServlet.
+     *
+     * @param registry  The Prometheus meter registry which is scraped
+     */
+    public MetricsServlet(final PrometheusMeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    protected void doGet(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType(CONTENT_TYPE);
+        registry.scrape(response.getOutputStream());
+    }
+}
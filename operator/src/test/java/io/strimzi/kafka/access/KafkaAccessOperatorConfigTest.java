@@ -0,0 +1,189 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.strimzi.kafka.access;
+
+import io.javaoperatorsdk.operator.api.reconciler.Constants;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class KafkaAccessOperatorConfigTest {
+
+    @Test
+    @DisplayName("When no environment variables are set, then all namespaces are watched")
+    void testDefaults() {
+        final KafkaAccessOperatorConfig config = KafkaAccessOperatorConfig.defaults();
+        assertThat(config.getKafkaAccessNamespaces()).isEqualTo(Constants.WATCH_ALL_NAMESPACE_SET);
+        assertThat(config.getKafkaNamespaces()).isEqualTo(Constants.WATCH_ALL_NAMESPACE_SET);
+        assertThat(config.isSecretServerSideApply()).isFalse();
+        assertThat(config.getSecretDataCacheSize()).isEqualTo(10_000);
+        assertThat(config.getWriteRateLimit()).isZero();
+        assertThat(config.getWriteBurst()).isEqualTo(40);
+        assertThat(config.getEventDebounceWindow()).isEqualTo(Duration.ofSeconds(1));
+        assertThat(config.getEventDebounceMaxDelay()).isEqualTo(Duration.ofSeconds(10));
+        assertThat(config.getReconciliationThreads()).isEqualTo(50);
+        assertThat(config.getReconciliationThreadsPerKafkaCluster()).isEqualTo(50);
+        assertThat(config.isFairScheduling()).isTrue();
+        assertThat(config.isVirtualThreads()).isFalse();
+        assertThat(config.isLeaderElectionEnabled()).isFalse();
+        assertThat(config.getLeaderElectionLeaseName()).isEqualTo("strimzi-access-operator");
+        assertThat(config.getLeaderElectionLeaseNamespace()).isNull();
+        assertThat(config.getLeaderElectionIdentity()).isNull();
+        assertThat(config.getLeaderElectionLeaseDuration()).isEqualTo(Duration.ofSeconds(15));
+        assertThat(config.getLeaderElectionRenewDeadline()).isEqualTo(Duration.ofSeconds(10));
+        assertThat(config.getLeaderElectionRetryPeriod()).isEqualTo(Duration.ofSeconds(2));
+        assertThat(config.getShardCount()).isZero();
+        assertThat(config.isSharded()).isFalse();
+        assertThat(config.getKafkaAccessLabelSelector()).isNull();
+        assertThat(config.getKafkaSecretLabelSelector()).isNull();
+        assertThat(config.getSecretManagedBy()).isEqualTo("kafka-access-operator");
+    }
+
+    @Test
+    @DisplayName("When the label selectors and the managed-by value are set, then they are parsed")
+    void testLabelSelectors() {
+        final KafkaAccessOperatorConfig config = KafkaAccessOperatorConfig.fromMap(Map.of(
+                KafkaAccessOperatorConfig.STRIMZI_KAFKA_ACCESS_LABEL_SELECTOR, "access.strimzi.io/shard=a",
+                KafkaAccessOperatorConfig.STRIMZI_KAFKA_SECRET_LABEL_SELECTOR, "strimzi.io/cluster=my-cluster",
+                KafkaAccessOperatorConfig.STRIMZI_SECRET_MANAGED_BY, "kafka-access-operator-a"));
+        assertThat(config.getKafkaAccessLabelSelector()).isEqualTo("access.strimzi.io/shard=a");
+        assertThat(config.getKafkaSecretLabelSelector()).isEqualTo("strimzi.io/cluster=my-cluster");
+        assertThat(config.getSecretManagedBy()).isEqualTo("kafka-access-operator-a");
+    }
+
+    @Test
+    @DisplayName("When the shard count is set, then the KafkaAccess resources are sharded")
+    void testShardCount() {
+        final KafkaAccessOperatorConfig config = KafkaAccessOperatorConfig.fromMap(Map.of(KafkaAccessOperatorConfig.STRIMZI_SHARD_COUNT, "16"));
+        assertThat(config.getShardCount()).isEqualTo(16);
+        assertThat(config.isSharded()).isTrue();
+    }
+
+    @Test
+    @DisplayName("When the shard count is set together with leader election, then the configuration is rejected")
+    void testShardCountWithLeaderElection() {
+        final IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> KafkaAccessOperatorConfig.fromMap(Map.of(
+                KafkaAccessOperatorConfig.STRIMZI_SHARD_COUNT, "16",
+                KafkaAccessOperatorConfig.STRIMZI_LEADER_ELECTION_ENABLED, "true")));
+        assertThat(exception).hasMessageContaining(KafkaAccessOperatorConfig.STRIMZI_SHARD_COUNT);
+    }
+
+    @Test
+    @DisplayName("When the leader election environment variables are set, then they are parsed")
+    void testLeaderElection() {
+        final KafkaAccessOperatorConfig config = KafkaAccessOperatorConfig.fromMap(Map.of(
+                KafkaAccessOperatorConfig.STRIMZI_LEADER_ELECTION_ENABLED, "true",
+                KafkaAccessOperatorConfig.STRIMZI_LEADER_ELECTION_LEASE_NAME, "my-lease",
+                KafkaAccessOperatorConfig.STRIMZI_LEADER_ELECTION_LEASE_NAMESPACE, " my-namespace ",
+                KafkaAccessOperatorConfig.STRIMZI_LEADER_ELECTION_IDENTITY, "my-pod",
+                KafkaAccessOperatorConfig.STRIMZI_LEADER_ELECTION_LEASE_DURATION_MS, "6000",
+                KafkaAccessOperatorConfig.STRIMZI_LEADER_ELECTION_RENEW_DEADLINE_MS, "4000",
+                KafkaAccessOperatorConfig.STRIMZI_LEADER_ELECTION_RETRY_PERIOD_MS, "500"));
+        assertThat(config.isLeaderElectionEnabled()).isTrue();
+        assertThat(config.getLeaderElectionLeaseName()).isEqualTo("my-lease");
+        assertThat(config.getLeaderElectionLeaseNamespace()).isEqualTo("my-namespace");
+        assertThat(config.getLeaderElectionIdentity()).isEqualTo("my-pod");
+        assertThat(config.getLeaderElectionLeaseDuration()).isEqualTo(Duration.ofSeconds(6));
+        assertThat(config.getLeaderElectionRenewDeadline()).isEqualTo(Duration.ofSeconds(4));
+        assertThat(config.getLeaderElectionRetryPeriod()).isEqualTo(Duration.ofMillis(500));
+    }
+
+    @Test
+    @DisplayName("When the reconciliation threads and virtual threads are set, then they are parsed")
+    void testReconciliationThreads() {
+        final KafkaAccessOperatorConfig config = KafkaAccessOperatorConfig.fromMap(Map.of(
+                KafkaAccessOperatorConfig.STRIMZI_RECONCILIATION_THREADS, "500",
+                KafkaAccessOperatorConfig.STRIMZI_VIRTUAL_THREADS, "true"));
+        assertThat(config.getReconciliationThreads()).isEqualTo(500);
+        assertThat(config.getReconciliationThreadsPerKafkaCluster()).isEqualTo(500);
+        assertThat(config.isVirtualThreads()).isTrue();
+    }
+
+    @Test
+    @DisplayName("When virtual threads are enabled without setting the reconciliation threads, then the default number of reconciliation threads is raised")
+    void testVirtualThreadsRaiseReconciliationThreads() {
+        final KafkaAccessOperatorConfig config = KafkaAccessOperatorConfig.fromMap(Map.of(
+                KafkaAccessOperatorConfig.STRIMZI_VIRTUAL_THREADS, "true"));
+        assertThat(config.getReconciliationThreads()).isEqualTo(1000);
+        assertThat(config.getReconciliationThreadsPerKafkaCluster()).isEqualTo(1000);
+    }
+
+    @Test
+    @DisplayName("When the reconciliation threads per Kafka cluster are set, then they are parsed, otherwise the clusters are not limited")
+    void testReconciliationThreadsPerKafkaCluster() {
+        assertThat(KafkaAccessOperatorConfig.fromMap(Map.of(
+                KafkaAccessOperatorConfig.STRIMZI_RECONCILIATION_THREADS_PER_KAFKA_CLUSTER, "5"))
+                .getReconciliationThreadsPerKafkaCluster()).isEqualTo(5);
+        assertThat(KafkaAccessOperatorConfig.fromMap(Map.of(
+                KafkaAccessOperatorConfig.STRIMZI_RECONCILIATION_THREADS, "7"))
+                .getReconciliationThreadsPerKafkaCluster()).isEqualTo(7);
+    }
+
+    @Test
+    @DisplayName("When fair scheduling is disabled, then the flag is false")
+    void testFairSchedulingDisabled() {
+        assertThat(KafkaAccessOperatorConfig.fromMap(Map.of(KafkaAccessOperatorConfig.STRIMZI_FAIR_SCHEDULING, "false"))
+                .isFairScheduling()).isFalse();
+    }
+
+    @Test
+    @DisplayName("When the debounce window and maximum delay are set, then they are parsed as milliseconds")
+    void testEventDebounce() {
+        final KafkaAccessOperatorConfig config = KafkaAccessOperatorConfig.fromMap(Map.of(
+                KafkaAccessOperatorConfig.STRIMZI_EVENT_DEBOUNCE_WINDOW_MS, "0",
+                KafkaAccessOperatorConfig.STRIMZI_EVENT_DEBOUNCE_MAX_DELAY_MS, "2500"));
+        assertThat(config.getEventDebounceWindow()).isZero();
+        assertThat(config.getEventDebounceMaxDelay()).isEqualTo(Duration.ofMillis(2500));
+    }
+
+    @Test
+    @DisplayName("When the write rate limit and burst are set, then they are parsed")
+    void testWriteRateLimit() {
+        final KafkaAccessOperatorConfig config = KafkaAccessOperatorConfig.fromMap(Map.of(
+                KafkaAccessOperatorConfig.STRIMZI_WRITE_RATE_LIMIT, "2.5",
+                KafkaAccessOperatorConfig.STRIMZI_WRITE_BURST, " 5 "));
+        assertThat(config.getWriteRateLimit()).isEqualTo(2.5);
+        assertThat(config.getWriteBurst()).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("When the Secret data cache size is set, then it is parsed")
+    void testSecretDataCacheSize() {
+        assertThat(KafkaAccessOperatorConfig.fromMap(Map.of(KafkaAccessOperatorConfig.STRIMZI_SECRET_DATA_CACHE_SIZE, "500"))
+                .getSecretDataCacheSize()).isEqualTo(500);
+    }
+
+    @Test
+    @DisplayName("When server-side apply of the Secrets is enabled, then the flag is true")
+    void testSecretServerSideApplyEnabled() {
+        assertThat(KafkaAccessOperatorConfig.fromMap(Map.of(KafkaAccessOperatorConfig.STRIMZI_SECRET_SERVER_SIDE_APPLY, "true"))
+                .isSecretServerSideApply()).isTrue();
+    }
+
+    @Test
+    @DisplayName("When the namespace environment variables are set, then the KafkaAccess and Kafka namespaces are parsed separately")
+    void testNamespaces() {
+        final KafkaAccessOperatorConfig config = KafkaAccessOperatorConfig.fromMap(Map.of(
+                KafkaAccessOperatorConfig.STRIMZI_KAFKA_ACCESS_NAMESPACES, "tenant-a, tenant-b,,",
+                KafkaAccessOperatorConfig.STRIMZI_KAFKA_NAMESPACES, "kafka"));
+        assertThat(config.getKafkaAccessNamespaces()).containsExactlyInAnyOrder("tenant-a", "tenant-b");
+        assertThat(config.getKafkaNamespaces()).containsExactly("kafka");
+    }
+
+    @Test
+    @DisplayName("When a namespace environment variable is empty or contains *, then all namespaces are watched")
+    void testAllNamespaces() {
+        final KafkaAccessOperatorConfig config = KafkaAccessOperatorConfig.fromMap(Map.of(
+                KafkaAccessOperatorConfig.STRIMZI_KAFKA_ACCESS_NAMESPACES, " ",
+                KafkaAccessOperatorConfig.STRIMZI_KAFKA_NAMESPACES, "kafka,*"));
+        assertThat(config.getKafkaAccessNamespaces()).isEqualTo(Constants.WATCH_ALL_NAMESPACE_SET);
+        assertThat(config.getKafkaNamespaces()).isEqualTo(Constants.WATCH_ALL_NAMESPACE_SET);
+    }
+}
@@ -4,16 +4,25 @@
  */
 package io.strimzi.kafka.access;
 
+import io.fabric8.kubernetes.api.model.FieldsV1;
+import io.fabric8.kubernetes.api.model.ManagedFieldsEntry;
+import io.fabric8.kubernetes.api.model.ManagedFieldsEntryBuilder;
 import io.fabric8.kubernetes.api.model.ObjectMeta;
 import io.fabric8.kubernetes.api.model.ObjectMetaBuilder;
 import io.fabric8.kubernetes.api.model.OwnerReference;
 import io.fabric8.kubernetes.api.model.OwnerReferenceBuilder;
 import io.fabric8.kubernetes.api.model.Secret;
+import io.fabric8.kubernetes.api.model.SecretBuilder;
+import io.fabric8.kubernetes.api.model.SecretList;
 import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.dsl.MixedOperation;
+import io.fabric8.kubernetes.client.dsl.Resource;
 import io.fabric8.kubernetes.client.server.mock.EnableKubernetesMockClient;
 import io.javaoperatorsdk.operator.Operator;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import io.strimzi.api.kafka.Crds;
 import io.strimzi.api.kafka.model.kafka.Kafka;
+import io.strimzi.api.kafka.model.kafka.KafkaBuilder;
 import io.strimzi.api.kafka.model.kafka.KafkaResources;
 import io.strimzi.api.kafka.model.user.KafkaUser;
 import io.strimzi.api.kafka.model.user.KafkaUserScramSha512ClientAuthentication;
@@ -22,6 +31,10 @@ import io.strimzi.api.kafka.model.kafka.listener.KafkaListenerAuthenticationScra
 import io.strimzi.api.kafka.model.kafka.listener.KafkaListenerAuthenticationTls;
 import io.strimzi.api.kafka.model.kafka.listener.KafkaListenerType;
 import io.strimzi.api.kafka.model.common.Condition;
+import io.strimzi.kafka.access.internal.OperatorMetrics;
+import io.strimzi.kafka.access.internal.PropagationTracker;
+import io.strimzi.kafka.access.internal.PropagationTracker.Trigger;
+import io.strimzi.kafka.access.internal.SecretDigest;
 import io.strimzi.kafka.access.model.BindingStatus;
 import io.strimzi.kafka.access.model.KafkaAccess;
 import io.strimzi.kafka.access.model.KafkaAccessStatus;
@@ -38,6 +51,7 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.MethodSource;
+import org.mockito.ArgumentCaptor;
 
 import java.util.Collections;
 import java.util.HashMap;
@@ -50,6 +64,11 @@ import java.util.stream.Stream;
 import static io.strimzi.kafka.access.Base64Encoder.encodeUtf8;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.data.MapEntry.entry;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.RETURNS_SELF;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 @EnableKubernetesMockClient(crud = true)
 @SuppressWarnings({"ClassDataAbstractionCoupling", "ClassFanOutComplexity"})
@@ -71,17 +90,32 @@ public class KafkaAccessReconcilerTest {
 
     KubernetesClient client;
     Operator operator;
+    KafkaAccessReconciler reconciler;
+    SimpleMeterRegistry meterRegistry;
 
     @BeforeEach
     void beforeEach() {
+        meterRegistry = new SimpleMeterRegistry();
+        startOperator(Map.of(), null);
+    }
+
+    private void startOperator(final Map<String, String> env, final String kafkaAccessLabelSelector) {
         operator = new Operator(overrider -> overrider.withKubernetesClient(client)
                 /*
                  * Disables the use of Server-Side Apply for patching the primary resource.
                  * Motivation: Mock Kubernetes client doesn't fully support SSA features.
                  * See: <a href="https://github.com/fabric8io/kubernetes-client/issues/5337">fabric8io/kubernetes-client Issue #5337</a>
                  */
-                .withUseSSAToPatchPrimaryResource(false));
-        operator.register(new KafkaAccessReconciler(operator.getKubernetesClient()));
+                .withUseSSAToPatchPrimaryResource(false)
+                // Tests can restart the operator with another configuration on the same client
+                .withCloseClientOnStop(false));
+        // Server-Side Apply of the generated Secrets is disabled for the same reason
+        final Map<String, String> config = new HashMap<>(env);
+        config.put(KafkaAccessOperatorConfig.STRIMZI_SECRET_SERVER_SIDE_APPLY, "false");
+        reconciler = new KafkaAccessReconciler(operator.getKubernetesClient(), KafkaAccessOperatorConfig.fromMap(config), meterRegistry);
+        operator.register(reconciler, overrider -> overrider.withLabelSelector(kafkaAccessLabelSelector)
+                .withOnAddFilter(reconciler.getPropagationTracker()::primaryAdded)
+                .withOnUpdateFilter(reconciler.getPropagationTracker()::primaryUpdated));
         operator.start();
     }
 
@@ -151,6 +185,131 @@ public class KafkaAccessReconcilerTest {
         expectedDataEntries.put(CommonClientConfigs.BOOTSTRAP_SERVERS_CONFIG,
                 encodeUtf8(String.format("%s:%s", BOOTSTRAP_HOST, BOOTSTRAP_PORT_9092)));
         assertThat(secret.getData()).containsAllEntriesOf(expectedDataEntries);
+        assertThat(secret.getMetadata().getAnnotations())
+                .containsEntry(SecretDigest.ANNOTATION, actualKafkaAccess.getStatus().getSecretDigest());
+    }
+
+    @Test
+    @DisplayName("When the operator instance has a KafkaAccess label selector and its own managed-by value, then it only " +
+            "reconciles the selected KafkaAccess resources and labels their Secrets with its value")
+    void testReconcileWithInstanceSelectors() throws InterruptedException {
+        operator.stop();
+        startOperator(Map.of(KafkaAccessOperatorConfig.STRIMZI_SECRET_MANAGED_BY, "kafka-access-operator-a"), "access.strimzi.io/shard=a");
+        final Kafka kafka = ResourceProvider.getKafka(
+                KAFKA_NAME,
+                KAFKA_NAMESPACE,
+                List.of(ResourceProvider.getListener(LISTENER_1, KafkaListenerType.INTERNAL, false)),
+                List.of(ResourceProvider.getListenerStatus(LISTENER_1, BOOTSTRAP_HOST, BOOTSTRAP_PORT_9092))
+        );
+        Crds.kafkaOperation(client).inNamespace(KAFKA_NAMESPACE).resource(kafka).create();
+        final KafkaReference kafkaReference = ResourceProvider.getKafkaReference(KAFKA_NAME, KAFKA_NAMESPACE);
+        final KafkaAccess selected = ResourceProvider.getKafkaAccess(NAME, NAMESPACE, kafkaReference);
+        selected.getMetadata().setLabels(Map.of("access.strimzi.io/shard", "a"));
+        final KafkaAccess other = ResourceProvider.getKafkaAccess("other-kafka-access", NAMESPACE, kafkaReference);
+        other.getMetadata().setLabels(Map.of("access.strimzi.io/shard", "b"));
+
+        client.resources(KafkaAccess.class).resource(other).create();
+        client.resources(KafkaAccess.class).resource(selected).create();
+        client.resources(KafkaAccess.class).inNamespace(NAMESPACE).withName(NAME).waitUntilCondition(updatedKafkaAccess ->
+                updatedKafkaAccess != null && updatedKafkaAccess.getStatus() != null && updatedKafkaAccess.getStatus().getBinding() != null,
+                TEST_TIMEOUT, TimeUnit.MILLISECONDS);
+        TimeUnit.MILLISECONDS.sleep(200);
+
+        assertThat(client.secrets().inNamespace(NAMESPACE).withName(NAME).get().getMetadata().getLabels())
+                .containsEntry("app.kubernetes.io/managed-by", "kafka-access-operator-a");
+        assertThat(client.secrets().inNamespace(NAMESPACE).withName("other-kafka-access").get()).isNull();
+        assertThat(client.resources(KafkaAccess.class).inNamespace(NAMESPACE).withName("other-kafka-access").get().getStatus()).isNull();
+    }
+
+    @Test
+    @DisplayName("When a KafkaAccess resource is reconciled again and its status does not change, then the status " +
+            "patch and the Secret write are skipped and counted as skipped")
+    void testReconcileSkipsUnchangedStatus() throws InterruptedException {
+        final Kafka kafka = ResourceProvider.getKafka(
+                KAFKA_NAME,
+                KAFKA_NAMESPACE,
+                List.of(ResourceProvider.getListener(LISTENER_1, KafkaListenerType.INTERNAL, false)),
+                List.of(ResourceProvider.getListenerStatus(LISTENER_1, BOOTSTRAP_HOST, BOOTSTRAP_PORT_9092))
+        );
+        Crds.kafkaOperation(client).inNamespace(KAFKA_NAMESPACE).resource(kafka).create();
+
+        final KafkaReference kafkaReference = ResourceProvider.getKafkaReference(KAFKA_NAME, KAFKA_NAMESPACE);
+        client.resources(KafkaAccess.class).resource(ResourceProvider.getKafkaAccess(NAME, NAMESPACE, kafkaReference)).create();
+        client.resources(KafkaAccess.class).inNamespace(NAMESPACE).withName(NAME).waitUntilCondition(updatedKafkaAccess ->
+                Optional.ofNullable(updatedKafkaAccess)
+                        .map(KafkaAccess::getStatus)
+                        .map(KafkaAccessStatus::getBinding)
+                        .isPresent(), TEST_TIMEOUT, TimeUnit.MILLISECONDS);
+        final String statusResourceVersion = client.resources(KafkaAccess.class).inNamespace(NAMESPACE).withName(NAME).get()
+                .getMetadata().getResourceVersion();
+
+        // A new listener triggers a reconciliation, but the KafkaAccess uses the first listener so nothing changes
+        Crds.kafkaOperation(client).inNamespace(KAFKA_NAMESPACE).withName(KAFKA_NAME).edit(k -> new KafkaBuilder(k)
+                .editSpec()
+                    .editKafka()
+                        .addToListeners(ResourceProvider.getListener(LISTENER_2, KafkaListenerType.INTERNAL, true))
+                    .endKafka()
+                .endSpec()
+                .build());
+
+        final long deadline = System.currentTimeMillis() + TEST_TIMEOUT;
+        while (statusUpdates(OperatorMetrics.RESULT_SKIPPED) < 1 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+        assertThat(statusUpdates(OperatorMetrics.RESULT_SKIPPED)).isGreaterThanOrEqualTo(1);
+        assertThat(statusUpdates(OperatorMetrics.RESULT_PATCHED)).isEqualTo(1);
+        assertThat(client.resources(KafkaAccess.class).inNamespace(NAMESPACE).withName(NAME).get().getMetadata().getResourceVersion())
+                .isEqualTo(statusResourceVersion);
+        assertThat(secretWrites(OperatorMetrics.RESULT_WRITTEN)).isEqualTo(1);
+        assertThat(secretWrites(OperatorMetrics.RESULT_SKIPPED)).isGreaterThanOrEqualTo(1);
+    }
+
+    private double statusUpdates(final String result) {
+        return meterRegistry.get(OperatorMetrics.STATUS_UPDATES).tag(OperatorMetrics.RESULT_TAG, result).counter().count();
+    }
+
+    private double secretWrites(final String result) {
+        return meterRegistry.get(OperatorMetrics.SECRET_WRITES).tag(OperatorMetrics.RESULT_TAG, result).counter().count();
+    }
+
+    @Test
+    @DisplayName("When a KafkaAccess resource is created and then its Kafka bootstrap address changes, then the time until " +
+            "each change reached the Secret is recorded for its trigger")
+    void testReconcileRecordsPropagationTime() throws InterruptedException {
+        final Kafka kafka = ResourceProvider.getKafka(
+                KAFKA_NAME,
+                KAFKA_NAMESPACE,
+                List.of(ResourceProvider.getListener(LISTENER_1, KafkaListenerType.INTERNAL, false)),
+                List.of(ResourceProvider.getListenerStatus(LISTENER_1, BOOTSTRAP_HOST, BOOTSTRAP_PORT_9092))
+        );
+        Crds.kafkaOperation(client).inNamespace(KAFKA_NAMESPACE).resource(kafka).create();
+
+        final KafkaReference kafkaReference = ResourceProvider.getKafkaReference(KAFKA_NAME, KAFKA_NAMESPACE);
+        client.resources(KafkaAccess.class).resource(ResourceProvider.getKafkaAccess(NAME, NAMESPACE, kafkaReference)).create();
+        client.resources(KafkaAccess.class).inNamespace(NAMESPACE).withName(NAME).waitUntilCondition(updatedKafkaAccess ->
+                Optional.ofNullable(updatedKafkaAccess)
+                        .map(KafkaAccess::getStatus)
+                        .map(KafkaAccessStatus::getBinding)
+                        .isPresent(), TEST_TIMEOUT, TimeUnit.MILLISECONDS);
+        assertThat(propagations(Trigger.PRIMARY)).isEqualTo(1);
+
+        Crds.kafkaOperation(client).inNamespace(KAFKA_NAMESPACE).withName(KAFKA_NAME).edit(k -> new KafkaBuilder(k)
+                .editStatus()
+                    .withListeners(ResourceProvider.getListenerStatus(LISTENER_1, "my-new-kafka-name.svc", BOOTSTRAP_PORT_9092))
+                .endStatus()
+                .build());
+
+        final long deadline = System.currentTimeMillis() + TEST_TIMEOUT;
+        while (propagations(Trigger.KAFKA) < 1 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+        assertThat(propagations(Trigger.KAFKA)).isEqualTo(1);
+        assertThat(propagations(Trigger.PRIMARY)).isEqualTo(1);
+        assertThat(propagations(Trigger.CA_SECRET)).isZero();
+    }
+
+    private long propagations(final Trigger trigger) {
+        return meterRegistry.get(PropagationTracker.SECRET_PROPAGATION).tag(PropagationTracker.TRIGGER_TAG, trigger.getTagValue()).timer().count();
     }
 
     @Test
@@ -163,7 +322,7 @@ public class KafkaAccessReconcilerTest {
                 List.of(ResourceProvider.getListener(LISTENER_1, KafkaListenerType.INTERNAL, true)),
                 List.of(ResourceProvider.getListenerStatus(LISTENER_1, BOOTSTRAP_HOST, BOOTSTRAP_PORT_9092))
         );
-        final Secret certSecret = ResourceProvider.getStrimziSecret(KafkaResources.clusterCaCertificateSecretName(KAFKA_NAME), KAFKA_NAME, KAFKA_NAMESPACE);
+        final Secret certSecret = ResourceProvider.getStrimziSecret(KafkaResources.clusterCaCertificateSecretName(KAFKA_NAME), KAFKA_NAMESPACE, KAFKA_NAME);
         final String cert = encodeUtf8("-----BEGIN CERTIFICATE-----\nMIIFLTCCAx\n-----END CERTIFICATE-----\n");
         final Map<String, String> certSecretData = new HashMap<>();
         certSecretData.put("ca.crt", cert);
@@ -347,6 +506,73 @@ public class KafkaAccessReconcilerTest {
         assertThat(updatedSecret.getMetadata().getAnnotations()).containsAllEntriesOf(customAnnotation);
     }
 
+    @Test
+    @DisplayName("When the data of a Secret up to date with its digest is edited, then the next reconciliation restores " +
+            "the data")
+    void testReconcileRestoresEditedSecretData() {
+        final Kafka kafka = ResourceProvider.getKafka(
+                KAFKA_NAME,
+                KAFKA_NAMESPACE,
+                List.of(ResourceProvider.getListener(LISTENER_1, KafkaListenerType.INTERNAL, false)),
+                List.of(ResourceProvider.getListenerStatus(LISTENER_1, BOOTSTRAP_HOST, BOOTSTRAP_PORT_9092))
+        );
+        Crds.kafkaOperation(client).inNamespace(KAFKA_NAMESPACE).resource(kafka).create();
+
+        final KafkaReference kafkaReference = ResourceProvider.getKafkaReference(KAFKA_NAME, KAFKA_NAMESPACE);
+        client.resources(KafkaAccess.class).resource(ResourceProvider.getKafkaAccess(NAME, NAMESPACE, kafkaReference)).create();
+        client.resources(KafkaAccess.class).inNamespace(NAMESPACE).withName(NAME).waitUntilCondition(updatedKafkaAccess ->
+                Optional.ofNullable(updatedKafkaAccess)
+                        .map(KafkaAccess::getStatus)
+                        .map(KafkaAccessStatus::getBinding)
+                        .isPresent(), TEST_TIMEOUT, TimeUnit.MILLISECONDS);
+        final String bootstrapServers = encodeUtf8(String.format("%s:%s", BOOTSTRAP_HOST, BOOTSTRAP_PORT_9092));
+        final String digest = client.secrets().inNamespace(NAMESPACE).withName(NAME).get()
+                .getMetadata().getAnnotations().get(SecretDigest.ANNOTATION);
+
+        // The digest annotation is kept, so only the comparison of the data can tell that the Secret changed
+        client.secrets().inNamespace(NAMESPACE).withName(NAME).edit(s -> new SecretBuilder(s)
+                .addToData(CommonClientConfigs.BOOTSTRAP_SERVERS_CONFIG, encodeUtf8("edited:9092"))
+                .addToData("edited-key", encodeUtf8("edited"))
+                .build());
+
+        client.secrets().inNamespace(NAMESPACE).withName(NAME).waitUntilCondition(secret ->
+                secret != null && bootstrapServers.equals(secret.getData().get(CommonClientConfigs.BOOTSTRAP_SERVERS_CONFIG)),
+                TEST_TIMEOUT, TimeUnit.MILLISECONDS);
+        final Secret restored = client.secrets().inNamespace(NAMESPACE).withName(NAME).get();
+        assertThat(restored.getData()).doesNotContainKey("edited-key");
+        assertThat(restored.getMetadata().getAnnotations()).containsEntry(SecretDigest.ANNOTATION, digest);
+    }
+
+    @Test
+    @DisplayName("When a KafkaAccess resource is deleted, then the Secret data rendered for it is evicted")
+    void testDeleteEvictsRenderedSecretData() throws InterruptedException {
+        final Kafka kafka = ResourceProvider.getKafka(
+                KAFKA_NAME,
+                KAFKA_NAMESPACE,
+                List.of(ResourceProvider.getListener(LISTENER_1, KafkaListenerType.INTERNAL, false)),
+                List.of(ResourceProvider.getListenerStatus(LISTENER_1, BOOTSTRAP_HOST, BOOTSTRAP_PORT_9092))
+        );
+        Crds.kafkaOperation(client).inNamespace(KAFKA_NAMESPACE).resource(kafka).create();
+
+        final KafkaReference kafkaReference = ResourceProvider.getKafkaReference(KAFKA_NAME, KAFKA_NAMESPACE);
+        client.resources(KafkaAccess.class).resource(ResourceProvider.getKafkaAccess(NAME, NAMESPACE, kafkaReference)).create();
+        client.resources(KafkaAccess.class).inNamespace(NAMESPACE).withName(NAME).waitUntilCondition(updatedKafkaAccess ->
+                Optional.ofNullable(updatedKafkaAccess)
+                        .map(KafkaAccess::getStatus)
+                        .map(KafkaAccessStatus::getBinding)
+                        .isPresent(), TEST_TIMEOUT, TimeUnit.MILLISECONDS);
+        final SecretDependentResource secretDependentResource = reconciler.getSecretDependentResource();
+        assertThat(secretDependentResource.cachedResources()).isEqualTo(1);
+
+        client.resources(KafkaAccess.class).inNamespace(NAMESPACE).withName(NAME).delete();
+
+        final long deadline = System.currentTimeMillis() + TEST_TIMEOUT;
+        while (secretDependentResource.cachedResources() > 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+        assertThat(secretDependentResource.cachedResources()).isZero();
+    }
+
     @Test
     @DisplayName("When reconcile is called with an existing secret and template metadata, then template metadata " +
         "is merged without overriding existing keys")
@@ -457,6 +683,57 @@ public class KafkaAccessReconcilerTest {
                 .containsEntry("app.kubernetes.io/managed-by", "kafka-access-operator");
     }
 
+    @Test
+    @DisplayName("When a template label of an existing Secret changes with server-side apply, then the new value is " +
+            "applied and only the keys owned by other field managers are left out")
+    @SuppressWarnings("unchecked")
+    void testServerSideApplyKeepsChangedTemplateEntries() {
+        final KafkaReference kafkaReference = ResourceProvider.getKafkaReference(KAFKA_NAME, KAFKA_NAMESPACE);
+        final KafkaAccess kafkaAccess = ResourceProvider.getKafkaAccess(NAME, NAMESPACE, kafkaReference);
+
+        final Secret secret = ResourceProvider.getEmptyKafkaAccessSecret(NAME, NAMESPACE, NAME);
+        secret.setMetadata(new ObjectMetaBuilder(secret.getMetadata())
+                .addToLabels("team", "team-a")
+                .addToLabels("owner", "user-value")
+                .addToAnnotations("description", "user-value")
+                .withManagedFields(
+                        managedFields("strimzi-access-operator", Map.of("f:labels", Map.of("f:team", Map.of()))),
+                        managedFields("kubectl-edit", Map.of(
+                                "f:labels", Map.of("f:owner", Map.of()),
+                                "f:annotations", Map.of("f:description", Map.of()))))
+                .build());
+
+        final KubernetesClient mockClient = mock(KubernetesClient.class);
+        final MixedOperation<Secret, SecretList, Resource<Secret>> secrets = mock(MixedOperation.class);
+        final Resource<Secret> secretResource = mock(Resource.class, RETURNS_SELF);
+        when(mockClient.secrets()).thenReturn(secrets);
+        when(secrets.inNamespace(NAMESPACE)).thenReturn(secrets);
+        when(secrets.resource(any(Secret.class))).thenReturn(secretResource);
+        when(secretResource.serverSideApply()).thenReturn(secret);
+        reconciler = new KafkaAccessReconciler(mockClient, KafkaAccessOperatorConfig.defaults(), meterRegistry);
+        reconciler.applySecretUpdate(secret, kafkaAccess, Map.of(),
+                Map.of("team", "team-b", "owner", "template-value", "app.kubernetes.io/managed-by", "kafka-access-operator"),
+                Map.of("description", "template-value", "template-annotation", "template-only"), "digest");
+
+        final ArgumentCaptor<Secret> applied = ArgumentCaptor.forClass(Secret.class);
+        verify(secrets).resource(applied.capture());
+        assertThat(applied.getValue().getMetadata().getLabels())
+                .containsOnly(entry("team", "team-b"), entry("app.kubernetes.io/managed-by", "kafka-access-operator"));
+        assertThat(applied.getValue().getMetadata().getAnnotations())
+                .containsOnly(entry("template-annotation", "template-only"), entry(SecretDigest.ANNOTATION, "digest"));
+    }
+
+    private static ManagedFieldsEntry managedFields(final String manager, final Map<String, Object> metadataFields) {
+        final FieldsV1 fields = new FieldsV1();
+        fields.setAdditionalProperty("f:metadata", metadataFields);
+        return new ManagedFieldsEntryBuilder()
+                .withManager(manager)
+                .withOperation("Apply")
+                .withFieldsType("FieldsV1")
+                .withFieldsV1(fields)
+                .build();
+    }
+
     @Test
     @DisplayName("When reconcile is called with a KafkaAccess resource and the Kafka resource is missing, then " +
             "the KafkaAccess status is updated with a Ready condition of False")
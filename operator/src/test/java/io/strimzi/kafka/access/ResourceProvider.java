@@ -4,10 +4,13 @@
  */
 package io.strimzi.kafka.access;
 
+import io.fabric8.kubernetes.api.model.HasMetadata;
 import io.fabric8.kubernetes.api.model.ObjectMeta;
 import io.fabric8.kubernetes.api.model.ObjectMetaBuilder;
 import io.fabric8.kubernetes.api.model.Secret;
 import io.fabric8.kubernetes.api.model.SecretBuilder;
+import io.javaoperatorsdk.operator.api.reconciler.IndexedResourceCache;
+import io.javaoperatorsdk.operator.processing.event.source.IndexerResourceCache;
 import io.strimzi.api.kafka.model.kafka.Kafka;
 import io.strimzi.api.kafka.model.kafka.KafkaBuilder;
 import io.strimzi.api.kafka.model.user.KafkaUser;
@@ -34,6 +37,16 @@ import io.strimzi.kafka.access.model.KafkaUserReferenceBuilder;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
 @SuppressWarnings({"ClassDataAbstractionCoupling", "ClassFanOutComplexity"})
 public class ResourceProvider {
@@ -64,6 +77,34 @@ public class ResourceProvider {
             .build();
     }
 
+    public static IndexedResourceCache<KafkaAccess> getKafkaAccessCache(final KafkaAccess... kafkaAccesses) {
+        return getIndexedCache(KafkaAccessMapper::addIndexers, kafkaAccesses);
+    }
+
+    public static IndexedResourceCache<KafkaUser> getKafkaUserCache(final KafkaUser... kafkaUsers) {
+        return getIndexedCache(KafkaAccessMapper::addKafkaUserIndexers, kafkaUsers);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T extends HasMetadata> IndexedResourceCache<T> getIndexedCache(final Consumer<IndexerResourceCache<T>> addIndexers, final T[] resources) {
+        final Map<String, Function<T, List<String>>> indexers = new HashMap<>();
+        final IndexerResourceCache<T> cache = mock(IndexerResourceCache.class);
+        doAnswer(invocation -> {
+            indexers.putAll(invocation.getArgument(0));
+            return null;
+        }).when(cache).addIndexers(anyMap());
+        doAnswer(invocation -> {
+            indexers.put(invocation.getArgument(0), invocation.getArgument(1));
+            return null;
+        }).when(cache).addIndexer(anyString(), any());
+        addIndexers.accept(cache);
+        when(cache.byIndex(anyString(), anyString())).thenAnswer(invocation -> Stream.of(resources)
+                .filter(resource -> indexers.get(invocation.<String>getArgument(0)).apply(resource).contains(invocation.<String>getArgument(1)))
+                .toList());
+        when(cache.list()).thenAnswer(invocation -> Stream.of(resources));
+        return cache;
+    }
+
     public static Secret getEmptyKafkaAccessSecret(String secretName, String secretNamespace, String kafkaAccessName) {
         return new SecretBuilder()
             .withNewMetadata()
@@ -69,7 +69,13 @@ public class SecretDependentResourceTest {
         final KafkaReference kafkaReference = ResourceProvider.getKafkaReference(KAFKA_NAME, KAFKA_NAMESPACE);
         final KafkaAccess kafkaAccess = ResourceProvider.getKafkaAccess(NAME, NAMESPACE, kafkaReference);
 
-        Map<String, String> data = new SecretDependentResource().desired(kafkaAccess.getSpec(), NAMESPACE, mockContext);
+        final EventSourceRetriever<KafkaAccess> mockEventSourceRetriever = mock(EventSourceRetriever.class);
+        final InformerEventSource<Secret, KafkaAccess> mockInformerEventSource = mock(InformerEventSource.class);
+        when(mockContext.eventSourceRetriever()).thenReturn(mockEventSourceRetriever);
+        when(mockEventSourceRetriever.getEventSourceFor(Secret.class, KafkaAccessReconciler.STRIMZI_SECRET_EVENT_SOURCE)).thenReturn(mockInformerEventSource);
+        when(mockInformerEventSource.get(any(ResourceID.class))).thenReturn(Optional.empty());
+
+        Map<String, String> data = new SecretDependentResource().desired(kafkaAccess, mockContext);
         final Map<String, String> expectedDataEntries = new HashMap<>();
         expectedDataEntries.put("type", encodeUtf8("kafka"));
         expectedDataEntries.put("provider", encodeUtf8("strimzi"));
@@ -105,7 +111,7 @@ public class SecretDependentResourceTest {
         when(mockEventSourceRetriever.getEventSourceFor(Secret.class, KafkaAccessReconciler.STRIMZI_SECRET_EVENT_SOURCE)).thenReturn(mockInformerEventSource);
         when(mockInformerEventSource.get(any(ResourceID.class))).thenReturn(Optional.of(certSecret));
 
-        Map<String, String> data = new SecretDependentResource().desired(kafkaAccess.getSpec(), NAMESPACE, mockContext);
+        Map<String, String> data = new SecretDependentResource().desired(kafkaAccess, mockContext);
         final Map<String, String> expectedDataEntries = new HashMap<>();
         expectedDataEntries.put("type", encodeUtf8("kafka"));
         expectedDataEntries.put("provider", encodeUtf8("strimzi"));
@@ -140,8 +146,11 @@ public class SecretDependentResourceTest {
         when(mockContext.eventSourceRetriever()).thenReturn(mockEventSourceRetriever);
         when(mockEventSourceRetriever.getEventSourceFor(Secret.class, KafkaAccessReconciler.KAFKA_USER_SECRET_EVENT_SOURCE)).thenReturn(mockInformerEventSource);
         when(mockInformerEventSource.get(any(ResourceID.class))).thenReturn(Optional.of(ResourceProvider.getStrimziUserSecret(KAFKA_USER_SECRET_NAME, KAFKA_NAMESPACE, KAFKA_NAME)));
+        final InformerEventSource<Secret, KafkaAccess> mockStrimziSecretEventSource = mock(InformerEventSource.class);
+        when(mockEventSourceRetriever.getEventSourceFor(Secret.class, KafkaAccessReconciler.STRIMZI_SECRET_EVENT_SOURCE)).thenReturn(mockStrimziSecretEventSource);
+        when(mockStrimziSecretEventSource.get(any(ResourceID.class))).thenReturn(Optional.empty());
 
-        Map<String, String> data = new SecretDependentResource().desired(kafkaAccess.getSpec(), NAMESPACE, mockContext);
+        Map<String, String> data = new SecretDependentResource().desired(kafkaAccess, mockContext);
         assertThat(data).containsEntry(
                 CommonClientConfigs.BOOTSTRAP_SERVERS_CONFIG,
                 encodeUtf8(String.format("%s:%s", BOOTSTRAP_HOST, BOOTSTRAP_PORT_9093))
@@ -159,7 +168,7 @@ public class SecretDependentResourceTest {
         when(mockContext.getSecondaryResource(Kafka.class)).thenReturn(Optional.empty());
 
         final MissingKubernetesResourceException exception = assertThrows(MissingKubernetesResourceException.class,
-                () -> new SecretDependentResource().desired(kafkaAccess.getSpec(), NAMESPACE, mockContext));
+                () -> new SecretDependentResource().desired(kafkaAccess, mockContext));
         assertThat(exception).hasMessage(String.format("Kafka %s/%s missing", KAFKA_NAMESPACE, KAFKA_NAME));
     }
 
@@ -188,7 +197,7 @@ public class SecretDependentResourceTest {
         final KafkaAccess kafkaAccess = ResourceProvider.getKafkaAccess(NAME, NAMESPACE, kafkaReference, kafkaUserReference);
 
         final MissingKubernetesResourceException exception = assertThrows(MissingKubernetesResourceException.class,
-                () -> new SecretDependentResource().desired(kafkaAccess.getSpec(), NAMESPACE, mockContext));
+                () -> new SecretDependentResource().desired(kafkaAccess, mockContext));
         assertThat(exception).hasMessage(String.format("KafkaUser %s/%s missing", KAFKA_NAMESPACE, KAFKA_USER_NAME));
     }
 
@@ -219,7 +228,7 @@ public class SecretDependentResourceTest {
         final KafkaAccess kafkaAccess = ResourceProvider.getKafkaAccess(NAME, NAMESPACE, kafkaReference, kafkaUserReference);
 
         final MissingKubernetesResourceException exception = assertThrows(MissingKubernetesResourceException.class,
-                () -> new SecretDependentResource().desired(kafkaAccess.getSpec(), NAMESPACE, mockContext));
+                () -> new SecretDependentResource().desired(kafkaAccess, mockContext));
         assertThat(exception).hasMessage(String.format("Secret in KafkaUser status %s/%s missing", KAFKA_NAMESPACE, KAFKA_USER_NAME));
     }
 
@@ -255,10 +264,44 @@ public class SecretDependentResourceTest {
         final KafkaAccess kafkaAccess = ResourceProvider.getKafkaAccess(NAME, NAMESPACE, kafkaReference, kafkaUserReference);
 
         final MissingKubernetesResourceException exception = assertThrows(MissingKubernetesResourceException.class,
-                () -> new SecretDependentResource().desired(kafkaAccess.getSpec(), NAMESPACE, mockContext));
+                () -> new SecretDependentResource().desired(kafkaAccess, mockContext));
         assertThat(exception).hasMessage(String.format("Secret %s for KafkaUser %s/%s missing", KAFKA_USER_SECRET_NAME, KAFKA_NAMESPACE, KAFKA_USER_NAME));
     }
 
+    @Test
+    @DisplayName("When desired is called with a KafkaAccess resource whose inputs have not changed, then the previously rendered " +
+            "data is returned, and it is rendered again once the resourceVersion of an input changes or the entry is evicted")
+    void testDesiredMemoizedByResourceVersions() {
+        final Kafka kafka = ResourceProvider.getKafka(
+                KAFKA_NAME,
+                KAFKA_NAMESPACE,
+                List.of(ResourceProvider.getListener(LISTENER_1, KafkaListenerType.INTERNAL, false)),
+                List.of(ResourceProvider.getListenerStatus(LISTENER_1, BOOTSTRAP_HOST, BOOTSTRAP_PORT_9092))
+        );
+        kafka.getMetadata().setResourceVersion("1");
+        final Context<KafkaAccess> mockContext = mock(Context.class);
+        final EventSourceRetriever<KafkaAccess> mockEventSourceRetriever = mock(EventSourceRetriever.class);
+        final InformerEventSource<Secret, KafkaAccess> mockInformerEventSource = mock(InformerEventSource.class);
+        when(mockContext.getSecondaryResource(Kafka.class)).thenReturn(Optional.of(kafka));
+        when(mockContext.eventSourceRetriever()).thenReturn(mockEventSourceRetriever);
+        when(mockEventSourceRetriever.getEventSourceFor(Secret.class, KafkaAccessReconciler.STRIMZI_SECRET_EVENT_SOURCE)).thenReturn(mockInformerEventSource);
+        when(mockInformerEventSource.get(any(ResourceID.class))).thenReturn(Optional.empty());
+
+        final KafkaReference kafkaReference = ResourceProvider.getKafkaReference(KAFKA_NAME, KAFKA_NAMESPACE);
+        final KafkaAccess kafkaAccess = ResourceProvider.getKafkaAccess(NAME, NAMESPACE, kafkaReference);
+        final SecretDependentResource secretDependentResource = new SecretDependentResource();
+
+        final Map<String, String> data = secretDependentResource.desired(kafkaAccess, mockContext);
+        assertThat(secretDependentResource.desired(kafkaAccess, mockContext)).isSameAs(data);
+
+        kafka.getMetadata().setResourceVersion("2");
+        final Map<String, String> updatedData = secretDependentResource.desired(kafkaAccess, mockContext);
+        assertThat(updatedData).isNotSameAs(data).isEqualTo(data);
+
+        secretDependentResource.evict(ResourceID.fromResource(kafkaAccess));
+        assertThat(secretDependentResource.desired(kafkaAccess, mockContext)).isNotSameAs(updatedData);
+    }
+
     private static Stream<KafkaUserReference> userReferences() {
         return Stream.of(
                 ResourceProvider.getUserReference("SpecialUser", KafkaUser.RESOURCE_GROUP, KAFKA_NAME, KAFKA_NAMESPACE),
@@ -289,7 +332,7 @@ public class SecretDependentResourceTest {
         final KafkaReference kafkaReference = ResourceProvider.getKafkaReference(KAFKA_NAME, KAFKA_NAMESPACE);
         final KafkaAccess kafkaAccess = ResourceProvider.getKafkaAccess(NAME, NAMESPACE, kafkaReference, userReference);
         final IllegalStateException exception = assertThrows(IllegalStateException.class,
-                () -> new SecretDependentResource().desired(kafkaAccess.getSpec(), NAMESPACE, mockContext));
+                () -> new SecretDependentResource().desired(kafkaAccess, mockContext));
         assertThat(exception).hasMessage("User kind must be KafkaUser and apiGroup must be kafka.strimzi.io");
     }
 }
@@ -0,0 +1,133 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.strimzi.kafka.access.internal;
+
+import io.fabric8.kubernetes.client.http.HttpRequest;
+import io.fabric8.kubernetes.client.http.HttpResponse;
+import io.fabric8.kubernetes.client.http.StandardHttpRequest;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class ApiRequestMetricsTest {
+
+    private static final String SECRET_URI = "https://kubernetes:443/api/v1/namespaces/my-namespace/secrets/my-secret";
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final AtomicLong nanoTime = new AtomicLong();
+    private final ApiRequestMetrics metrics = new ApiRequestMetrics(registry, nanoTime::get);
+
+    @ParameterizedTest
+    @CsvSource({
+        "GET, /api/v1/namespaces/my-namespace/secrets/my-secret, , get, secrets",
+        "GET, /api/v1/namespaces/my-namespace/secrets, labelSelector=app, list, secrets",
+        "GET, /api/v1/secrets, watch=true&resourceVersion=1, watch, secrets",
+        "POST, /api/v1/namespaces/my-namespace/secrets, , create, secrets",
+        "PUT, /apis/kafka.strimzi.io/v1/namespaces/my-namespace/kafkaaccesses/my-access, , update, kafkaaccesses",
+        "PATCH, /apis/access.strimzi.io/v1alpha1/namespaces/my-namespace/kafkaaccesses/my-access/status, , patch, kafkaaccesses/status",
+        "DELETE, /api/v1/namespaces/my-namespace/secrets/my-secret, , delete, secrets",
+        "DELETE, /api/v1/namespaces/my-namespace/secrets, , deletecollection, secrets",
+        "GET, /api/v1/namespaces/my-namespace, , get, namespaces",
+        "GET, /apis/coordination.k8s.io/v1/namespaces/my-namespace/leases, , list, leases",
+        "GET, /version, , get, unknown"
+    })
+    @DisplayName("When a request is sent, then its verb and resource are taken from the method and the path")
+    void testVerbAndResource(final String method, final String path, final String query, final String verb, final String resource) {
+        final URI uri = URI.create("https://kubernetes:443" + path + (query == null ? "" : "?" + query));
+
+        assertThat(ApiRequestMetrics.verb(method, uri)).isEqualTo(verb);
+        assertThat(ApiRequestMetrics.resource(uri.getPath())).isEqualTo(resource);
+    }
+
+    @Test
+    @DisplayName("When requests complete, then their count and time are recorded by verb, resource and response code " +
+            "from the start time carried by each request")
+    void testRequestsRecorded() {
+        final HttpRequest first = send(request("GET", SECRET_URI));
+        nanoTime.set(TimeUnit.MILLISECONDS.toNanos(10));
+        final HttpRequest second = send(request("GET", SECRET_URI));
+        nanoTime.set(TimeUnit.MILLISECONDS.toNanos(30));
+        metrics.after(second, response(404), null);
+        metrics.after(first, response(200), null);
+        metrics.after(send(request("GET", SECRET_URI)), response(200), null);
+
+        assertThat(timer("get", "secrets", "200").count()).isEqualTo(2);
+        assertThat(timer("get", "secrets", "200").totalTime(TimeUnit.MILLISECONDS)).isEqualTo(30);
+        assertThat(timer("get", "secrets", "404").totalTime(TimeUnit.MILLISECONDS)).isEqualTo(20);
+        assertThat(registry.find(ApiRequestMetrics.API_REQUESTS).timers()).hasSize(2);
+    }
+
+    @Test
+    @DisplayName("When a request is retried, then its time is measured from the last attempt")
+    void testRetriedRequest() {
+        final StandardHttpRequest original = request("PUT", SECRET_URI);
+        send(original);
+        nanoTime.set(TimeUnit.MILLISECONDS.toNanos(100));
+        final HttpRequest retried = send(original);
+        nanoTime.set(TimeUnit.MILLISECONDS.toNanos(150));
+        metrics.after(retried, response(200), null);
+
+        assertThat(retried.headers(ApiRequestMetrics.START_HEADER)).hasSize(1);
+        assertThat(timer("update", "secrets", "200").totalTime(TimeUnit.MILLISECONDS)).isEqualTo(50);
+    }
+
+    @Test
+    @DisplayName("When a request fails without a response, then it is counted as a connection failure and not timed")
+    void testConnectionFailure() {
+        final StandardHttpRequest original = request("PUT", SECRET_URI);
+        send(original);
+        metrics.afterConnectionFailure(original, new IOException("Connection refused"));
+        metrics.afterConnectionFailure(original, new IOException("Connection refused"));
+
+        assertThat(registry.get(ApiRequestMetrics.API_CONNECTION_FAILURES)
+                .tag(ApiRequestMetrics.VERB_TAG, "update")
+                .tag(ApiRequestMetrics.RESOURCE_TAG, "secrets")
+                .counter().count()).isEqualTo(2);
+        assertThat(registry.find(ApiRequestMetrics.API_REQUESTS).timers()).isEmpty();
+    }
+
+    private Timer timer(final String verb, final String resource, final String code) {
+        return registry.get(ApiRequestMetrics.API_REQUESTS)
+                .tag(ApiRequestMetrics.VERB_TAG, verb)
+                .tag(ApiRequestMetrics.RESOURCE_TAG, resource)
+                .tag(ApiRequestMetrics.CODE_TAG, code)
+                .timer();
+    }
+
+    /**
+     * Runs the interceptor on a copy of the request and returns the copy, as the HTTP client does before sending it.
+     */
+    private HttpRequest send(final StandardHttpRequest request) {
+        final StandardHttpRequest.Builder copy = request.newBuilder();
+        metrics.before(copy, request, null);
+        return copy.build();
+    }
+
+    private static StandardHttpRequest request(final String method, final String uri) {
+        final StandardHttpRequest.Builder builder = new StandardHttpRequest.Builder().uri(URI.create(uri));
+        if (!"GET".equals(method)) {
+            builder.method(method, "application/json", "{}");
+        }
+        return builder.build();
+    }
+
+    private static HttpResponse<?> response(final int code) {
+        final HttpResponse<?> response = mock(HttpResponse.class);
+        when(response.code()).thenReturn(code);
+        return response;
+    }
+}
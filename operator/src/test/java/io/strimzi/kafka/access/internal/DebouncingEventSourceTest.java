@@ -0,0 +1,88 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.strimzi.kafka.access.internal;
+
+import io.javaoperatorsdk.operator.processing.event.Event;
+import io.javaoperatorsdk.operator.processing.event.ResourceID;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class DebouncingEventSourceTest {
+
+    private static final ResourceID ACCESS_1 = new ResourceID("access-1", "my-namespace");
+    private static final ResourceID ACCESS_2 = new ResourceID("access-2", "my-namespace");
+
+    private final List<Event> events = new CopyOnWriteArrayList<>();
+    private DebouncingEventSource eventSource;
+
+    @AfterEach
+    void afterEach() {
+        eventSource.stop();
+    }
+
+    @Test
+    @DisplayName("When events for the same KafkaAccess arrive within the window, then a single event is triggered for each KafkaAccess")
+    void testEventsMerged() throws InterruptedException {
+        eventSource = start(Duration.ofMillis(200), Duration.ofSeconds(5));
+
+        assertThat(eventSource.debounce(Set.of(ACCESS_1, ACCESS_2))).isEmpty();
+        assertThat(eventSource.debounce(Set.of(ACCESS_1))).isEmpty();
+        assertThat(eventSource.pendingEvents()).isEqualTo(2);
+        assertThat(events).isEmpty();
+
+        awaitEvents(2, 2_000);
+        TimeUnit.MILLISECONDS.sleep(300);
+
+        assertThat(events).containsExactlyInAnyOrder(new Event(ACCESS_1), new Event(ACCESS_2));
+        assertThat(eventSource.pendingEvents()).isZero();
+    }
+
+    @Test
+    @DisplayName("When events keep arriving within the window, then the event is triggered after the maximum delay")
+    void testMaxDelay() throws InterruptedException {
+        eventSource = start(Duration.ofMillis(200), Duration.ofMillis(500));
+
+        final long start = System.nanoTime();
+        while (events.isEmpty() && System.nanoTime() - start < TimeUnit.SECONDS.toNanos(3)) {
+            eventSource.debounce(Set.of(ACCESS_1));
+            TimeUnit.MILLISECONDS.sleep(50);
+        }
+
+        assertThat(events).contains(new Event(ACCESS_1));
+        assertThat(System.nanoTime() - start).isLessThan(TimeUnit.SECONDS.toNanos(2));
+    }
+
+    @Test
+    @DisplayName("When the window is zero, then the KafkaAccess resources are returned to be triggered right away")
+    void testDisabled() {
+        eventSource = start(Duration.ZERO, Duration.ZERO);
+
+        assertThat(eventSource.debounce(Set.of(ACCESS_1))).containsExactly(ACCESS_1);
+        assertThat(eventSource.pendingEvents()).isZero();
+    }
+
+    private DebouncingEventSource start(final Duration window, final Duration maxDelay) {
+        final DebouncingEventSource debouncingEventSource = new DebouncingEventSource(window, maxDelay);
+        debouncingEventSource.setEventHandler(events::add);
+        debouncingEventSource.start();
+        return debouncingEventSource;
+    }
+
+    private void awaitEvents(final int count, final long timeoutMs) throws InterruptedException {
+        final long deadline = System.currentTimeMillis() + timeoutMs;
+        while (events.size() < count && System.currentTimeMillis() < deadline) {
+            TimeUnit.MILLISECONDS.sleep(20);
+        }
+    }
+}
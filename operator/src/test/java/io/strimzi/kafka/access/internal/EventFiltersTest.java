@@ -0,0 +1,148 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.strimzi.kafka.access.internal;
+
+import io.fabric8.kubernetes.api.model.Secret;
+import io.fabric8.kubernetes.api.model.SecretBuilder;
+import io.strimzi.api.kafka.model.kafka.Kafka;
+import io.strimzi.api.kafka.model.kafka.KafkaBuilder;
+import io.strimzi.api.kafka.model.kafka.KafkaResources;
+import io.strimzi.api.kafka.model.kafka.listener.KafkaListenerAuthenticationScramSha512;
+import io.strimzi.api.kafka.model.kafka.listener.KafkaListenerType;
+import io.strimzi.api.kafka.model.user.KafkaUser;
+import io.strimzi.api.kafka.model.user.KafkaUserBuilder;
+import io.strimzi.api.kafka.model.user.KafkaUserScramSha512ClientAuthentication;
+import io.strimzi.api.kafka.model.user.KafkaUserTlsClientAuthentication;
+import io.strimzi.kafka.access.ResourceProvider;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static io.strimzi.kafka.access.Base64Encoder.encodeUtf8;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class EventFiltersTest {
+
+    static final String KAFKA_NAME = "my-kafka";
+    static final String NAMESPACE = "my-namespace";
+    static final String KAFKA_USER_NAME = "my-kafka-user";
+    static final String LISTENER_NAME = "listener-1";
+    static final String BOOTSTRAP_HOST = "my-kafka.svc";
+    static final String CERT_1 = encodeUtf8("-----BEGIN CERTIFICATE-----\nMIIFLTCCAx\n-----END CERTIFICATE-----\n");
+    static final String CERT_2 = encodeUtf8("-----BEGIN CERTIFICATE-----\nMIIFLTCCAy\n-----END CERTIFICATE-----\n");
+
+    @Test
+    @DisplayName("When isClusterCaCertSecret() is called with the cluster CA certificate secret, then it is accepted")
+    void testClusterCaCertSecretAccepted() {
+        final Secret secret = ResourceProvider.getStrimziSecret(KafkaResources.clusterCaCertificateSecretName(KAFKA_NAME), NAMESPACE, KAFKA_NAME);
+        assertThat(EventFilters.isClusterCaCertSecret(secret)).isTrue();
+    }
+
+    @Test
+    @DisplayName("When isClusterCaCertSecret() is called with another secret of the cluster, then it is rejected")
+    void testOtherClusterSecretsRejected() {
+        assertThat(EventFilters.isClusterCaCertSecret(
+                ResourceProvider.getStrimziSecret(KafkaResources.clusterCaKeySecretName(KAFKA_NAME), NAMESPACE, KAFKA_NAME))).isFalse();
+        assertThat(EventFilters.isClusterCaCertSecret(
+                ResourceProvider.getStrimziSecret(KafkaResources.clientsCaCertificateSecretName(KAFKA_NAME), NAMESPACE, KAFKA_NAME))).isFalse();
+        assertThat(EventFilters.isClusterCaCertSecret(
+                ResourceProvider.getStrimziSecret(KafkaResources.clusterCaCertificateSecretName(KAFKA_NAME), NAMESPACE, "other-kafka"))).isFalse();
+    }
+
+    @Test
+    @DisplayName("When caCertChanged() is called, then only updates that change the ca.crt entry are accepted")
+    void testCaCertChanged() {
+        final Secret secret = ResourceProvider.getStrimziSecret(KafkaResources.clusterCaCertificateSecretName(KAFKA_NAME), NAMESPACE, KAFKA_NAME);
+        secret.setData(Map.of("ca.crt", CERT_1, "ca.p12", encodeUtf8("p12-1")));
+        final Secret renewedKeystore = new SecretBuilder(secret)
+                .withData(Map.of("ca.crt", CERT_1, "ca.p12", encodeUtf8("p12-2")))
+                .build();
+        final Secret renewedCert = new SecretBuilder(secret)
+                .withData(Map.of("ca.crt", CERT_2, "ca.p12", encodeUtf8("p12-2")))
+                .build();
+
+        assertThat(EventFilters.caCertChanged(secret, renewedKeystore)).isFalse();
+        assertThat(EventFilters.caCertChanged(secret, renewedCert)).isTrue();
+    }
+
+    @Test
+    @DisplayName("When kafkaListenersChanged() is called with an update that only changes status conditions, then it is rejected")
+    void testKafkaStatusConditionUpdateRejected() {
+        final Kafka kafka = ResourceProvider.getKafka(KAFKA_NAME, NAMESPACE,
+                List.of(ResourceProvider.getListener(LISTENER_NAME, KafkaListenerType.INTERNAL, false)),
+                List.of(ResourceProvider.getListenerStatus(LISTENER_NAME, BOOTSTRAP_HOST, 9092)));
+        final Kafka updatedKafka = new KafkaBuilder(kafka)
+                .editStatus()
+                    .withObservedGeneration(2L)
+                    .addNewCondition()
+                        .withType("Ready")
+                        .withStatus("True")
+                    .endCondition()
+                .endStatus()
+                .build();
+
+        assertThat(EventFilters.kafkaListenersChanged(kafka, updatedKafka)).isFalse();
+    }
+
+    @Test
+    @DisplayName("When kafkaListenersChanged() is called with an update to the listeners or their bootstrap servers, then it is accepted")
+    void testKafkaListenerUpdateAccepted() {
+        final Kafka kafka = ResourceProvider.getKafka(KAFKA_NAME, NAMESPACE,
+                List.of(ResourceProvider.getListener(LISTENER_NAME, KafkaListenerType.INTERNAL, false)),
+                List.of(ResourceProvider.getListenerStatus(LISTENER_NAME, BOOTSTRAP_HOST, 9092)));
+        final Kafka tlsKafka = ResourceProvider.getKafka(KAFKA_NAME, NAMESPACE,
+                List.of(ResourceProvider.getListener(LISTENER_NAME, KafkaListenerType.INTERNAL, true)),
+                List.of(ResourceProvider.getListenerStatus(LISTENER_NAME, BOOTSTRAP_HOST, 9092)));
+        final Kafka scramKafka = ResourceProvider.getKafka(KAFKA_NAME, NAMESPACE,
+                List.of(ResourceProvider.getListener(LISTENER_NAME, KafkaListenerType.INTERNAL, false, new KafkaListenerAuthenticationScramSha512())),
+                List.of(ResourceProvider.getListenerStatus(LISTENER_NAME, BOOTSTRAP_HOST, 9092)));
+        final Kafka movedKafka = ResourceProvider.getKafka(KAFKA_NAME, NAMESPACE,
+                List.of(ResourceProvider.getListener(LISTENER_NAME, KafkaListenerType.INTERNAL, false)),
+                List.of(ResourceProvider.getListenerStatus(LISTENER_NAME, BOOTSTRAP_HOST, 9093)));
+
+        assertThat(EventFilters.kafkaListenersChanged(kafka, tlsKafka)).isTrue();
+        assertThat(EventFilters.kafkaListenersChanged(kafka, scramKafka)).isTrue();
+        assertThat(EventFilters.kafkaListenersChanged(kafka, movedKafka)).isTrue();
+    }
+
+    @Test
+    @DisplayName("When kafkaUserAuthenticationChanged() is called with an update that only changes ACLs, quotas or conditions, then it is rejected")
+    void testKafkaUserAuthorizationUpdateRejected() {
+        final KafkaUser kafkaUser = ResourceProvider.getKafkaUserWithStatus(KAFKA_USER_NAME, NAMESPACE, KAFKA_USER_NAME, "my-user", new KafkaUserScramSha512ClientAuthentication());
+        final KafkaUser updatedKafkaUser = new KafkaUserBuilder(kafkaUser)
+                .editSpec()
+                    .withNewKafkaUserAuthorizationSimple()
+                    .endKafkaUserAuthorizationSimple()
+                    .withNewQuotas()
+                        .withProducerByteRate(1024)
+                    .endQuotas()
+                .endSpec()
+                .editStatus()
+                    .withObservedGeneration(2L)
+                    .addNewCondition()
+                        .withType("Ready")
+                        .withStatus("True")
+                    .endCondition()
+                .endStatus()
+                .build();
+
+        assertThat(EventFilters.kafkaUserAuthenticationChanged(kafkaUser, updatedKafkaUser)).isFalse();
+    }
+
+    @Test
+    @DisplayName("When kafkaUserAuthenticationChanged() is called with an update to the authentication type, username or secret, then it is accepted")
+    void testKafkaUserAuthenticationUpdateAccepted() {
+        final KafkaUser kafkaUser = ResourceProvider.getKafkaUserWithStatus(KAFKA_USER_NAME, NAMESPACE, KAFKA_USER_NAME, "my-user", new KafkaUserScramSha512ClientAuthentication());
+        final KafkaUser tlsKafkaUser = ResourceProvider.getKafkaUserWithStatus(KAFKA_USER_NAME, NAMESPACE, KAFKA_USER_NAME, "my-user", new KafkaUserTlsClientAuthentication());
+        final KafkaUser renamedKafkaUser = ResourceProvider.getKafkaUserWithStatus(KAFKA_USER_NAME, NAMESPACE, KAFKA_USER_NAME, "my-other-user", new KafkaUserScramSha512ClientAuthentication());
+        final KafkaUser newSecretKafkaUser = ResourceProvider.getKafkaUserWithStatus(KAFKA_USER_NAME, NAMESPACE, "prefix-" + KAFKA_USER_NAME, "my-user", new KafkaUserScramSha512ClientAuthentication());
+
+        assertThat(EventFilters.kafkaUserAuthenticationChanged(kafkaUser, tlsKafkaUser)).isTrue();
+        assertThat(EventFilters.kafkaUserAuthenticationChanged(kafkaUser, renamedKafkaUser)).isTrue();
+        assertThat(EventFilters.kafkaUserAuthenticationChanged(kafkaUser, newSecretKafkaUser)).isTrue();
+    }
+}
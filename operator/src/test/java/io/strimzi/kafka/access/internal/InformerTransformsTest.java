@@ -0,0 +1,144 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.strimzi.kafka.access.internal;
+
+import io.fabric8.kubernetes.api.model.ManagedFieldsEntryBuilder;
+import io.fabric8.kubernetes.api.model.Secret;
+import io.strimzi.api.kafka.model.kafka.Kafka;
+import io.strimzi.api.kafka.model.kafka.KafkaBuilder;
+import io.strimzi.api.kafka.model.kafka.KafkaResources;
+import io.strimzi.api.kafka.model.kafka.listener.KafkaListenerAuthenticationScramSha512;
+import io.strimzi.api.kafka.model.kafka.listener.KafkaListenerType;
+import io.strimzi.api.kafka.model.user.KafkaUser;
+import io.strimzi.api.kafka.model.user.KafkaUserBuilder;
+import io.strimzi.api.kafka.model.user.KafkaUserScramSha512ClientAuthentication;
+import io.strimzi.kafka.access.ResourceProvider;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static io.strimzi.kafka.access.Base64Encoder.encodeUtf8;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class InformerTransformsTest {
+
+    static final String KAFKA_NAME = "my-kafka";
+    static final String NAMESPACE = "my-namespace";
+    static final String KAFKA_USER_NAME = "my-kafka-user";
+    static final String LISTENER_NAME = "listener-1";
+    static final String BOOTSTRAP_HOST = "my-kafka.svc";
+    static final String CERT = encodeUtf8("-----BEGIN CERTIFICATE-----\nMIIFLTCCAx\n-----END CERTIFICATE-----\n");
+
+    @Test
+    @DisplayName("When pruneStrimziSecret() is called with the cluster CA certificate secret, then only the CA certificate " +
+            "and the metadata without managedFields are kept")
+    void testPruneClusterCaCertSecret() {
+        final Secret secret = ResourceProvider.getStrimziSecret(KafkaResources.clusterCaCertificateSecretName(KAFKA_NAME), NAMESPACE, KAFKA_NAME);
+        secret.setData(Map.of("ca.crt", CERT, "ca.p12", encodeUtf8("p12"), "ca.password", encodeUtf8("password")));
+        secret.getMetadata().setResourceVersion("42");
+        secret.getMetadata().setManagedFields(new ArrayList<>());
+        secret.getMetadata().getManagedFields().add(new ManagedFieldsEntryBuilder().withManager("strimzi-cluster-operator").build());
+
+        final Secret pruned = InformerTransforms.pruneStrimziSecret(secret);
+
+        assertThat(pruned.getData()).containsExactly(Map.entry("ca.crt", CERT));
+        assertThat(pruned.getMetadata().getName()).isEqualTo(secret.getMetadata().getName());
+        assertThat(pruned.getMetadata().getLabels()).isEqualTo(secret.getMetadata().getLabels());
+        assertThat(pruned.getMetadata().getResourceVersion()).isEqualTo("42");
+        assertThat(pruned.getMetadata().getManagedFields()).isNullOrEmpty();
+        assertThat(secret.getData()).hasSize(3);
+        assertThat(secret.getMetadata().getManagedFields()).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("When pruneStrimziSecret() is called with another secret of the cluster, then all data is dropped")
+    void testPruneOtherStrimziSecret() {
+        final Secret secret = ResourceProvider.getStrimziSecret(KafkaResources.clusterCaKeySecretName(KAFKA_NAME), NAMESPACE, KAFKA_NAME);
+        secret.setData(Map.of("ca.key", encodeUtf8("key")));
+
+        assertThat(InformerTransforms.pruneStrimziSecret(secret).getData()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("When pruneKafkaUserSecret() is called, then only the keys used for the connection details are kept")
+    void testPruneKafkaUserSecret() {
+        final Secret secret = ResourceProvider.getStrimziUserSecret(KAFKA_USER_NAME, NAMESPACE, KAFKA_NAME);
+        secret.setData(Map.of(
+                "password", encodeUtf8("password"),
+                "sasl.jaas.config", encodeUtf8("jaas"),
+                "user.crt", CERT,
+                "user.key", encodeUtf8("key"),
+                "user.p12", encodeUtf8("p12"),
+                "user.password", encodeUtf8("p12-password"),
+                "ca.crt", CERT));
+
+        assertThat(InformerTransforms.pruneKafkaUserSecret(secret).getData())
+                .containsOnlyKeys("password", "sasl.jaas.config", "user.crt", "user.key");
+    }
+
+    @Test
+    @DisplayName("When projectKafka() is called, then only the listeners in the spec and status are kept and the listener fingerprint is unchanged")
+    void testProjectKafka() {
+        final Kafka kafka = new KafkaBuilder(ResourceProvider.getKafka(KAFKA_NAME, NAMESPACE,
+                        List.of(ResourceProvider.getListener(LISTENER_NAME, KafkaListenerType.INTERNAL, true, new KafkaListenerAuthenticationScramSha512())),
+                        List.of(ResourceProvider.getListenerStatus(LISTENER_NAME, BOOTSTRAP_HOST, 9093))))
+                .editSpec()
+                    .editKafka()
+                        .withVersion("4.1.0")
+                        .withConfig(Map.of("offsets.topic.replication.factor", 3))
+                    .endKafka()
+                .endSpec()
+                .editStatus()
+                    .editFirstListener()
+                        .withCertificates(List.of("certificate"))
+                    .endListener()
+                    .addNewCondition()
+                        .withType("Ready")
+                        .withStatus("True")
+                    .endCondition()
+                .endStatus()
+                .build();
+
+        final Kafka projected = InformerTransforms.projectKafka(kafka);
+
+        assertThat(projected.getMetadata().getName()).isEqualTo(KAFKA_NAME);
+        assertThat(projected.getSpec().getKafka().getVersion()).isNull();
+        assertThat(projected.getSpec().getKafka().getConfig()).isNullOrEmpty();
+        assertThat(projected.getStatus().getConditions()).isNullOrEmpty();
+        assertThat(projected.getStatus().getListeners().get(0).getCertificates()).isNullOrEmpty();
+        assertThat(projected.getStatus().getListeners().get(0).getBootstrapServers()).isEqualTo(BOOTSTRAP_HOST + ":9093");
+        assertThat(EventFilters.listenerFingerprint(projected)).isEqualTo(EventFilters.listenerFingerprint(kafka));
+        assertThat(KafkaParser.getKafkaListener(projected, ResourceProvider.getKafkaAccess("access", NAMESPACE,
+                ResourceProvider.getKafkaReference(KAFKA_NAME, NAMESPACE)).getSpec(), null).getBootstrapServer())
+                .isEqualTo(BOOTSTRAP_HOST + ":9093");
+    }
+
+    @Test
+    @DisplayName("When projectKafkaUser() is called, then only the authentication, username and secret name are kept")
+    void testProjectKafkaUser() {
+        final KafkaUser kafkaUser = new KafkaUserBuilder(ResourceProvider.getKafkaUserWithStatus(KAFKA_USER_NAME, NAMESPACE, KAFKA_USER_NAME, "my-user", new KafkaUserScramSha512ClientAuthentication()))
+                .editSpec()
+                    .withNewKafkaUserAuthorizationSimple()
+                    .endKafkaUserAuthorizationSimple()
+                    .withNewQuotas()
+                        .withProducerByteRate(1024)
+                    .endQuotas()
+                .endSpec()
+                .build();
+
+        final KafkaUser projected = InformerTransforms.projectKafkaUser(kafkaUser);
+
+        assertThat(projected.getMetadata().getName()).isEqualTo(KAFKA_USER_NAME);
+        assertThat(projected.getSpec().getAuthentication()).isInstanceOf(KafkaUserScramSha512ClientAuthentication.class);
+        assertThat(projected.getSpec().getAuthorization()).isNull();
+        assertThat(projected.getSpec().getQuotas()).isNull();
+        assertThat(projected.getStatus().getUsername()).isEqualTo("my-user");
+        assertThat(projected.getStatus().getSecret()).isEqualTo(KAFKA_USER_NAME);
+        assertThat(EventFilters.kafkaUserAuthenticationChanged(kafkaUser, projected)).isFalse();
+    }
+}
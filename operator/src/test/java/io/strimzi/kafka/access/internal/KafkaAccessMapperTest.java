@@ -7,6 +7,7 @@ package io.strimzi.kafka.access.internal;
 import io.fabric8.kubernetes.api.model.Secret;
 import io.fabric8.kubernetes.api.model.SecretBuilder;
 import io.javaoperatorsdk.operator.processing.event.ResourceID;
+import io.strimzi.api.kafka.model.user.KafkaUser;
 import io.strimzi.kafka.access.ResourceProvider;
 import io.strimzi.kafka.access.model.KafkaAccess;
 import io.strimzi.kafka.access.model.KafkaReference;
@@ -17,7 +18,6 @@ import org.junit.jupiter.api.Test;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
-import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -43,7 +43,7 @@ public class KafkaAccessMapperTest {
         final KafkaAccess kafkaAccess2 = ResourceProvider.getKafkaAccess(ACCESS_NAME_2, NAMESPACE_1, kafkaReference2);
 
         final Set<ResourceID> matches = KafkaAccessMapper.kafkaSecondaryToPrimaryMapper(
-                Stream.of(kafkaAccess1, kafkaAccess2),
+                ResourceProvider.getKafkaAccessCache(kafkaAccess1, kafkaAccess2),
                 ResourceProvider.getKafka(KAFKA_NAME_1, NAMESPACE_2));
         assertThat(matches).containsExactly(new ResourceID(ACCESS_NAME_1, NAMESPACE_1));
     }
@@ -57,7 +57,7 @@ public class KafkaAccessMapperTest {
         final KafkaAccess kafkaAccess2 = ResourceProvider.getKafkaAccess(ACCESS_NAME_2, NAMESPACE_2, kafkaReference);
 
         final Set<ResourceID> matches = KafkaAccessMapper.kafkaSecondaryToPrimaryMapper(
-                Stream.of(kafkaAccess1, kafkaAccess2),
+                ResourceProvider.getKafkaAccessCache(kafkaAccess1, kafkaAccess2),
                 ResourceProvider.getKafka(KAFKA_NAME_1, NAMESPACE_2));
         assertThat(matches).containsExactly(new ResourceID(ACCESS_NAME_1, NAMESPACE_1), new ResourceID(ACCESS_NAME_2, NAMESPACE_2));
     }
@@ -71,7 +71,7 @@ public class KafkaAccessMapperTest {
         final KafkaAccess kafkaAccess2 = ResourceProvider.getKafkaAccess(ACCESS_NAME_2, NAMESPACE_2, kafkaReferenceNullNamespace);
 
         final Set<ResourceID> matches = KafkaAccessMapper.kafkaSecondaryToPrimaryMapper(
-                Stream.of(kafkaAccess1, kafkaAccess2),
+                ResourceProvider.getKafkaAccessCache(kafkaAccess1, kafkaAccess2),
                 ResourceProvider.getKafka(KAFKA_NAME_1, NAMESPACE_1));
         assertThat(matches).containsExactly(new ResourceID(ACCESS_NAME_1, NAMESPACE_1));
     }
@@ -86,7 +86,7 @@ public class KafkaAccessMapperTest {
         final KafkaAccess kafkaAccess2 = ResourceProvider.getKafkaAccess(ACCESS_NAME_2, NAMESPACE_2, kafkaReference2);
 
         final Set<ResourceID> matches = KafkaAccessMapper.kafkaSecondaryToPrimaryMapper(
-                Stream.of(kafkaAccess1, kafkaAccess2),
+                ResourceProvider.getKafkaAccessCache(kafkaAccess1, kafkaAccess2),
                 ResourceProvider.getKafka(KAFKA_NAME_1, NAMESPACE_1));
         assertThat(matches).isEmpty();
     }
@@ -103,7 +103,7 @@ public class KafkaAccessMapperTest {
         final KafkaAccess kafkaAccess2 = ResourceProvider.getKafkaAccess(ACCESS_NAME_2, NAMESPACE_1, kafkaReference2, kafkaUserReference2);
 
         final Set<ResourceID> matches = KafkaAccessMapper.kafkaUserSecondaryToPrimaryMapper(
-                Stream.of(kafkaAccess1, kafkaAccess2),
+                ResourceProvider.getKafkaAccessCache(kafkaAccess1, kafkaAccess2),
                 ResourceProvider.getKafkaUser(KAFKA_USER_NAME_1, NAMESPACE_2));
         assertThat(matches).containsExactly(new ResourceID(ACCESS_NAME_1, NAMESPACE_1));
     }
@@ -119,7 +119,7 @@ public class KafkaAccessMapperTest {
         final KafkaAccess kafkaAccess2 = ResourceProvider.getKafkaAccess(ACCESS_NAME_2, NAMESPACE_2, kafkaReference2, kafkaUserReference);
 
         final Set<ResourceID> matches = KafkaAccessMapper.kafkaUserSecondaryToPrimaryMapper(
-                Stream.of(kafkaAccess1, kafkaAccess2),
+                ResourceProvider.getKafkaAccessCache(kafkaAccess1, kafkaAccess2),
                 ResourceProvider.getKafkaUser(KAFKA_USER_NAME_1, NAMESPACE_2));
         assertThat(matches).containsExactly(new ResourceID(ACCESS_NAME_1, NAMESPACE_1), new ResourceID(ACCESS_NAME_2, NAMESPACE_2));
     }
@@ -135,7 +135,7 @@ public class KafkaAccessMapperTest {
         final KafkaAccess kafkaAccess2 = ResourceProvider.getKafkaAccess(ACCESS_NAME_2, NAMESPACE_2, kafkaReference2, kafkaUserReferenceNullNamespace);
 
         final Set<ResourceID> matches = KafkaAccessMapper.kafkaUserSecondaryToPrimaryMapper(
-                Stream.of(kafkaAccess1, kafkaAccess2),
+                ResourceProvider.getKafkaAccessCache(kafkaAccess1, kafkaAccess2),
                 ResourceProvider.getKafkaUser(KAFKA_USER_NAME_1, NAMESPACE_1));
         assertThat(matches).containsExactly(new ResourceID(ACCESS_NAME_1, NAMESPACE_1));
     }
@@ -151,7 +151,7 @@ public class KafkaAccessMapperTest {
         final KafkaAccess kafkaAccess2 = ResourceProvider.getKafkaAccess(ACCESS_NAME_2, NAMESPACE_2, kafkaReference2);
 
         final Set<ResourceID> matches = KafkaAccessMapper.kafkaUserSecondaryToPrimaryMapper(
-                Stream.of(kafkaAccess1, kafkaAccess2),
+                ResourceProvider.getKafkaAccessCache(kafkaAccess1, kafkaAccess2),
                 ResourceProvider.getKafkaUser(KAFKA_USER_NAME_1, NAMESPACE_1));
         assertThat(matches).isEmpty();
     }
@@ -164,17 +164,28 @@ public class KafkaAccessMapperTest {
         final KafkaAccess kafkaAccess2 = ResourceProvider.getKafkaAccess(ACCESS_NAME_2, NAMESPACE_1);
 
         final Set<ResourceID> matches = KafkaAccessMapper.secretSecondaryToPrimaryMapper(
-                Stream.of(kafkaAccess1, kafkaAccess2),
+                ResourceProvider.getKafkaAccessCache(kafkaAccess1, kafkaAccess2),
                 ResourceProvider.getEmptyKafkaAccessSecret(SECRET_NAME, NAMESPACE_1, ACCESS_NAME_1));
         assertThat(matches).containsExactly(new ResourceID(ACCESS_NAME_1, NAMESPACE_1));
     }
 
+    @Test
+    @DisplayName("When kafkaAccessSecretSecondaryToPrimaryMapper() is called with a secret generated for a KafkaAccess, " +
+            "then its owner is returned whatever the managed-by value of the operator instance")
+    void testKafkaAccessSecretOwnerReturned() {
+        final Secret secret = ResourceProvider.getEmptyKafkaAccessSecret(SECRET_NAME, NAMESPACE_1, ACCESS_NAME_1);
+        secret.getMetadata().getLabels().put(KafkaAccessMapper.MANAGED_BY_LABEL_KEY, "kafka-access-operator-a");
+
+        assertThat(KafkaAccessMapper.kafkaAccessSecretSecondaryToPrimaryMapper(secret))
+                .containsExactly(new ResourceID(ACCESS_NAME_1, NAMESPACE_1));
+    }
+
     @Test
     @DisplayName("When secretSecondaryToPrimaryMapper() is called with an empty cache and a secret that is managed " +
             "by a KafkaAccess, then the correct KafkaAccess is returned")
     void testCorrectKafkaAccessReturnedForKafkaAccessSecretEmptyCache() {
         final Set<ResourceID> matches = KafkaAccessMapper.secretSecondaryToPrimaryMapper(
-                Stream.of(),
+                ResourceProvider.getKafkaAccessCache(),
                 ResourceProvider.getEmptyKafkaAccessSecret(SECRET_NAME, NAMESPACE_1, ACCESS_NAME_1));
         assertThat(matches).containsExactly(new ResourceID(ACCESS_NAME_1, NAMESPACE_1));
     }
@@ -189,24 +200,57 @@ public class KafkaAccessMapperTest {
         final KafkaAccess kafkaAccess2 = ResourceProvider.getKafkaAccess(ACCESS_NAME_2, NAMESPACE_1, kafkaReference2);
 
         final Set<ResourceID> matches = KafkaAccessMapper.secretSecondaryToPrimaryMapper(
-                Stream.of(kafkaAccess1, kafkaAccess2),
+                ResourceProvider.getKafkaAccessCache(kafkaAccess1, kafkaAccess2),
                 ResourceProvider.getStrimziSecret(SECRET_NAME, NAMESPACE_1, KAFKA_NAME_1));
         assertThat(matches).containsExactly(new ResourceID(ACCESS_NAME_1, NAMESPACE_1));
     }
 
     @Test
-    @DisplayName("When secretSecondaryToPrimaryMapper() is called with a secret that is managed by Strimzi User Operator, " +
-            "then the correct KafkaAccess is returned")
+    @DisplayName("When kafkaUserSecretSecondaryToPrimaryMapper() is called with a secret that is managed by Strimzi User Operator, " +
+            "then only the KafkaAccess objects referencing the KafkaUser of the secret are returned")
     void testCorrectKafkaAccessReturnedForStrimziUserSecret() {
+        final KafkaReference kafkaReference = ResourceProvider.getKafkaReference(KAFKA_NAME_1, NAMESPACE_1);
+        final KafkaUserReference kafkaUserReference1 = ResourceProvider.getKafkaUserReference(KAFKA_USER_NAME_1, NAMESPACE_1);
+        final KafkaUserReference kafkaUserReference2 = ResourceProvider.getKafkaUserReference(KAFKA_USER_NAME_2, NAMESPACE_1);
+        final KafkaAccess kafkaAccess1 = ResourceProvider.getKafkaAccess(ACCESS_NAME_1, NAMESPACE_1, kafkaReference, kafkaUserReference1);
+        final KafkaAccess kafkaAccess2 = ResourceProvider.getKafkaAccess(ACCESS_NAME_2, NAMESPACE_1, kafkaReference, kafkaUserReference2);
+        final KafkaUser kafkaUser1 = ResourceProvider.getKafkaUserWithStatus(KAFKA_USER_NAME_1, NAMESPACE_1, SECRET_NAME, "my-user", null);
+
+        final Set<ResourceID> matches = KafkaAccessMapper.kafkaUserSecretSecondaryToPrimaryMapper(
+                ResourceProvider.getKafkaAccessCache(kafkaAccess1, kafkaAccess2),
+                ResourceProvider.getKafkaUserCache(kafkaUser1),
+                ResourceProvider.getStrimziUserSecret(SECRET_NAME, NAMESPACE_1, KAFKA_NAME_1));
+        assertThat(matches).containsExactly(new ResourceID(ACCESS_NAME_1, NAMESPACE_1));
+    }
+
+    @Test
+    @DisplayName("When kafkaUserSecretSecondaryToPrimaryMapper() is called with a secret that no cached KafkaUser points at, " +
+            "then the KafkaAccess objects referencing the KafkaUser with the same name as the secret are returned")
+    void testKafkaAccessReturnedForStrimziUserSecretWithoutCachedKafkaUser() {
+        final KafkaReference kafkaReference = ResourceProvider.getKafkaReference(KAFKA_NAME_1, NAMESPACE_1);
+        final KafkaUserReference kafkaUserReference1 = ResourceProvider.getKafkaUserReference(KAFKA_USER_NAME_1, NAMESPACE_1);
+        final KafkaUserReference kafkaUserReference2 = ResourceProvider.getKafkaUserReference(KAFKA_USER_NAME_2, NAMESPACE_2);
+        final KafkaAccess kafkaAccess1 = ResourceProvider.getKafkaAccess(ACCESS_NAME_1, NAMESPACE_1, kafkaReference, kafkaUserReference1);
+        final KafkaAccess kafkaAccess2 = ResourceProvider.getKafkaAccess(ACCESS_NAME_2, NAMESPACE_1, kafkaReference, kafkaUserReference2);
+
+        final Set<ResourceID> matches = KafkaAccessMapper.kafkaUserSecretSecondaryToPrimaryMapper(
+                ResourceProvider.getKafkaAccessCache(kafkaAccess1, kafkaAccess2),
+                ResourceProvider.getKafkaUserCache(),
+                ResourceProvider.getStrimziUserSecret(KAFKA_USER_NAME_1, NAMESPACE_1, KAFKA_NAME_1));
+        assertThat(matches).containsExactly(new ResourceID(ACCESS_NAME_1, NAMESPACE_1));
+    }
+
+    @Test
+    @DisplayName("When secretSecondaryToPrimaryMapper() is called with a secret that is managed by Strimzi User Operator, " +
+            "then an empty set is returned")
+    void testEmptySetForStrimziUserSecret() {
         final KafkaReference kafkaReference1 = ResourceProvider.getKafkaReference(KAFKA_NAME_1, NAMESPACE_1);
-        final KafkaReference kafkaReference2 = ResourceProvider.getKafkaReference(KAFKA_NAME_2, NAMESPACE_1);
         final KafkaAccess kafkaAccess1 = ResourceProvider.getKafkaAccess(ACCESS_NAME_1, NAMESPACE_1, kafkaReference1);
-        final KafkaAccess kafkaAccess2 = ResourceProvider.getKafkaAccess(ACCESS_NAME_2, NAMESPACE_1, kafkaReference2);
 
         final Set<ResourceID> matches = KafkaAccessMapper.secretSecondaryToPrimaryMapper(
-                Stream.of(kafkaAccess1, kafkaAccess2),
+                ResourceProvider.getKafkaAccessCache(kafkaAccess1),
                 ResourceProvider.getStrimziUserSecret(SECRET_NAME, NAMESPACE_1, KAFKA_NAME_1));
-        assertThat(matches).containsExactly(new ResourceID(ACCESS_NAME_1, NAMESPACE_1));
+        assertThat(matches).isEmpty();
     }
 
     @Test
@@ -229,7 +273,7 @@ public class KafkaAccessMapperTest {
                 .build();
 
         final Set<ResourceID> matches = KafkaAccessMapper.secretSecondaryToPrimaryMapper(
-                Stream.of(kafkaAccess1, kafkaAccess2),
+                ResourceProvider.getKafkaAccessCache(kafkaAccess1, kafkaAccess2),
                 secret);
         assertThat(matches).isEmpty();
     }
@@ -251,7 +295,7 @@ public class KafkaAccessMapperTest {
                 .build();
 
         final Set<ResourceID> matches = KafkaAccessMapper.secretSecondaryToPrimaryMapper(
-                Stream.of(kafkaAccess1, kafkaAccess2),
+                ResourceProvider.getKafkaAccessCache(kafkaAccess1, kafkaAccess2),
                 secret);
         assertThat(matches).isEmpty();
     }
@@ -0,0 +1,99 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.strimzi.kafka.access.internal;
+
+import io.javaoperatorsdk.operator.processing.event.ResourceID;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Comparator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class KafkaClusterBulkheadTest {
+
+    private static final ResourceID CLUSTER_1 = new ResourceID("cluster-1", "kafka");
+    private static final ResourceID CLUSTER_2 = new ResourceID("cluster-2", "kafka");
+
+    @Test
+    @DisplayName("When the limit of a Kafka cluster is reached, then its tasks are queued while the other clusters still get slots")
+    void testLimitPerCluster() {
+        final KafkaClusterBulkhead<String> bulkhead = new KafkaClusterBulkhead<>(2, Comparator.naturalOrder(), new SimpleMeterRegistry());
+
+        assertThat(bulkhead.tryAcquire(CLUSTER_1, "a")).isTrue();
+        assertThat(bulkhead.tryAcquire(CLUSTER_1, "b")).isTrue();
+        assertThat(bulkhead.tryAcquire(CLUSTER_1, "d")).isFalse();
+        assertThat(bulkhead.tryAcquire(CLUSTER_1, "c")).isFalse();
+        assertThat(bulkhead.tryAcquire(CLUSTER_2, "e")).isTrue();
+
+        assertThat(bulkhead.inFlight(CLUSTER_1)).isEqualTo(2);
+        assertThat(bulkhead.queued(CLUSTER_1)).isEqualTo(2);
+        assertThat(bulkhead.inFlight(CLUSTER_2)).isEqualTo(1);
+        assertThat(bulkhead.queued(CLUSTER_2)).isZero();
+    }
+
+    @Test
+    @DisplayName("When a task completes, then its slot is passed to the first queued task of the cluster or freed")
+    void testRelease() {
+        final KafkaClusterBulkhead<String> bulkhead = new KafkaClusterBulkhead<>(1, Comparator.naturalOrder(), new SimpleMeterRegistry());
+        bulkhead.tryAcquire(CLUSTER_1, "a");
+        bulkhead.tryAcquire(CLUSTER_1, "c");
+        bulkhead.tryAcquire(CLUSTER_1, "b");
+
+        assertThat(bulkhead.release(CLUSTER_1)).isEqualTo("b");
+        assertThat(bulkhead.inFlight(CLUSTER_1)).isEqualTo(1);
+        assertThat(bulkhead.release(CLUSTER_1)).isEqualTo("c");
+        assertThat(bulkhead.release(CLUSTER_1)).isNull();
+        assertThat(bulkhead.inFlight(CLUSTER_1)).isZero();
+        assertThat(bulkhead.release(CLUSTER_2)).isNull();
+    }
+
+    @Test
+    @DisplayName("When a Kafka cluster is first seen, then its in-flight and queued gauges are registered")
+    void testGauges() {
+        final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        final KafkaClusterBulkhead<String> bulkhead = new KafkaClusterBulkhead<>(1, Comparator.naturalOrder(), registry);
+        bulkhead.tryAcquire(CLUSTER_1, "a");
+        bulkhead.tryAcquire(CLUSTER_1, "b");
+
+        assertThat(registry.get(KafkaClusterBulkhead.IN_FLIGHT)
+                .tag(KafkaClusterBulkhead.KAFKA_NAMESPACE_TAG, "kafka")
+                .tag(KafkaClusterBulkhead.KAFKA_NAME_TAG, "cluster-1").gauge().value()).isEqualTo(1);
+        assertThat(registry.get(KafkaClusterBulkhead.QUEUED)
+                .tag(KafkaClusterBulkhead.KAFKA_NAME_TAG, "cluster-1").gauge().value()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("When the last task of a Kafka cluster completes, then the cluster and its gauges are removed until it gets a task again")
+    void testIdleClusterRemoved() {
+        final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        final KafkaClusterBulkhead<String> bulkhead = new KafkaClusterBulkhead<>(1, Comparator.naturalOrder(), registry);
+        bulkhead.tryAcquire(CLUSTER_1, "a");
+        bulkhead.tryAcquire(CLUSTER_1, "b");
+        bulkhead.tryAcquire(CLUSTER_2, "c");
+
+        assertThat(bulkhead.release(CLUSTER_1)).isEqualTo("b");
+        assertThat(registry.find(KafkaClusterBulkhead.IN_FLIGHT).tag(KafkaClusterBulkhead.KAFKA_NAME_TAG, "cluster-1").gauge()).isNotNull();
+        assertThat(bulkhead.release(CLUSTER_1)).isNull();
+
+        assertThat(registry.find(KafkaClusterBulkhead.IN_FLIGHT).tag(KafkaClusterBulkhead.KAFKA_NAME_TAG, "cluster-1").gauge()).isNull();
+        assertThat(registry.find(KafkaClusterBulkhead.QUEUED).tag(KafkaClusterBulkhead.KAFKA_NAME_TAG, "cluster-1").gauge()).isNull();
+        assertThat(registry.find(KafkaClusterBulkhead.IN_FLIGHT).tag(KafkaClusterBulkhead.KAFKA_NAME_TAG, "cluster-2").gauge()).isNotNull();
+        assertThat(bulkhead.release(CLUSTER_1)).isNull();
+        assertThat(bulkhead.inFlight(CLUSTER_1)).isZero();
+
+        assertThat(bulkhead.tryAcquire(CLUSTER_1, "d")).isTrue();
+        assertThat(registry.get(KafkaClusterBulkhead.IN_FLIGHT).tag(KafkaClusterBulkhead.KAFKA_NAME_TAG, "cluster-1").gauge().value()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("When the limit is lower than one, then the bulkhead cannot be created")
+    void testInvalidLimit() {
+        assertThatThrownBy(() -> new KafkaClusterBulkhead<String>(0, Comparator.naturalOrder(), new SimpleMeterRegistry()))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
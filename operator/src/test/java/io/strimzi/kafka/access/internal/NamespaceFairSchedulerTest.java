@@ -0,0 +1,83 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.strimzi.kafka.access.internal;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class NamespaceFairSchedulerTest {
+
+    @Test
+    @DisplayName("When a namespace queues many reconciliations, then a namespace queuing later gets the current virtual time")
+    void testStartTags() {
+        final NamespaceFairScheduler scheduler = new NamespaceFairScheduler(true, new SimpleMeterRegistry());
+
+        assertThat(scheduler.startTag("busy")).isZero();
+        assertThat(scheduler.startTag("busy")).isEqualTo(1);
+        assertThat(scheduler.startTag("busy")).isEqualTo(2);
+        assertThat(scheduler.startTag("quiet")).isZero();
+        assertThat(scheduler.startTag(null)).isZero();
+
+        scheduler.started("busy", 1, 0);
+        assertThat(scheduler.startTag("quiet")).isEqualTo(1);
+        assertThat(scheduler.startTag("other")).isEqualTo(1);
+        assertThat(scheduler.startTag("busy")).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("When fair scheduling is disabled, then all start tags are zero")
+    void testDisabled() {
+        final NamespaceFairScheduler scheduler = new NamespaceFairScheduler(false, new SimpleMeterRegistry());
+
+        assertThat(scheduler.startTag("busy")).isZero();
+        assertThat(scheduler.startTag("busy")).isZero();
+    }
+
+    @Test
+    @DisplayName("When a reconciliation starts, then its wait time is recorded for its namespace")
+    void testWaitTime() {
+        final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        final NamespaceFairScheduler scheduler = new NamespaceFairScheduler(true, registry);
+
+        scheduler.started("tenant", 0, TimeUnit.MILLISECONDS.toNanos(200));
+        scheduler.started(null, 0, TimeUnit.MILLISECONDS.toNanos(100));
+
+        assertThat(registry.get(NamespaceFairScheduler.QUEUE_WAIT)
+                .tag(NamespaceFairScheduler.NAMESPACE_TAG, "tenant").timer().totalTime(TimeUnit.MILLISECONDS)).isEqualTo(200);
+        assertThat(registry.find(NamespaceFairScheduler.QUEUE_WAIT).timers()).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("When a namespace has no reconciliation started for the idle timeout, then its wait timer is removed " +
+            "and registered again at its next reconciliation")
+    void testIdleWaitTimerRemoved() {
+        final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        final AtomicLong nanoTime = new AtomicLong();
+        final NamespaceFairScheduler scheduler = new NamespaceFairScheduler(true, registry, nanoTime::get);
+
+        scheduler.started("idle", 0, 0);
+        scheduler.started("busy", 0, 0);
+        nanoTime.addAndGet(TimeUnit.MINUTES.toNanos(6));
+        scheduler.started("busy", 0, 0);
+        nanoTime.addAndGet(TimeUnit.MINUTES.toNanos(6));
+        scheduler.started("busy", 0, 0);
+
+        assertThat(registry.find(NamespaceFairScheduler.QUEUE_WAIT).timers())
+                .extracting(timer -> timer.getId().getTag(NamespaceFairScheduler.NAMESPACE_TAG))
+                .containsExactly("busy");
+        assertThat(registry.get(NamespaceFairScheduler.QUEUE_WAIT)
+                .tag(NamespaceFairScheduler.NAMESPACE_TAG, "busy").timer().count()).isEqualTo(3);
+
+        scheduler.started("idle", 0, TimeUnit.MILLISECONDS.toNanos(50));
+        assertThat(registry.get(NamespaceFairScheduler.QUEUE_WAIT)
+                .tag(NamespaceFairScheduler.NAMESPACE_TAG, "idle").timer().count()).isEqualTo(1);
+    }
+}
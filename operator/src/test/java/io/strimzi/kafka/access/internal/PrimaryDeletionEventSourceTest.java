@@ -0,0 +1,36 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.strimzi.kafka.access.internal;
+
+import io.javaoperatorsdk.operator.processing.event.ResourceID;
+import io.strimzi.kafka.access.ResourceProvider;
+import io.strimzi.kafka.access.model.KafkaAccess;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class PrimaryDeletionEventSourceTest {
+
+    @Test
+    @DisplayName("When KafkaAccess resources are created, updated and deleted, then only the deletions are passed on")
+    void testOnlyDeletionsPassedOn() {
+        final List<ResourceID> deleted = new ArrayList<>();
+        final PrimaryDeletionEventSource eventSource = new PrimaryDeletionEventSource(deleted::add);
+        final KafkaAccess kafkaAccess = ResourceProvider.getKafkaAccess("my-access", "my-namespace",
+                ResourceProvider.getKafkaReference("my-kafka", "kafka-namespace"));
+
+        eventSource.onResourceCreated(kafkaAccess);
+        eventSource.onResourceUpdated(kafkaAccess, kafkaAccess);
+        assertThat(deleted).isEmpty();
+
+        eventSource.onResourceDeleted(kafkaAccess);
+        assertThat(deleted).containsExactly(new ResourceID("my-access", "my-namespace"));
+        assertThat(eventSource.getSecondaryResources(kafkaAccess)).isEmpty();
+    }
+}
@@ -0,0 +1,257 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.strimzi.kafka.access.internal;
+
+import io.fabric8.kubernetes.api.model.HasMetadata;
+import io.javaoperatorsdk.operator.api.reconciler.RetryInfo;
+import io.javaoperatorsdk.operator.processing.event.EventProcessor;
+import io.javaoperatorsdk.operator.processing.event.ResourceID;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.strimzi.kafka.access.ResourceProvider;
+import io.strimzi.kafka.access.model.BindingStatus;
+import io.strimzi.kafka.access.model.KafkaAccess;
+import io.strimzi.kafka.access.model.KafkaAccessStatus;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Constructor;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+public class PriorityReconcileExecutorTest {
+
+    private static final String NAMESPACE = "my-namespace";
+
+    @Test
+    @DisplayName("When a KafkaAccess has no binding or its spec changed, then it has the high priority, otherwise the normal priority")
+    void testPriorityOf() {
+        final KafkaAccess unbound = ResourceProvider.getKafkaAccess("unbound", NAMESPACE);
+        final KafkaAccess bound = bound("bound", 1, 1);
+        final KafkaAccess changed = bound("changed", 2, 1);
+
+        assertThat(PriorityReconcileExecutor.priorityOf(unbound)).isEqualTo(PriorityReconcileExecutor.Priority.HIGH);
+        assertThat(PriorityReconcileExecutor.priorityOf(changed)).isEqualTo(PriorityReconcileExecutor.Priority.HIGH);
+        assertThat(PriorityReconcileExecutor.priorityOf(bound)).isEqualTo(PriorityReconcileExecutor.Priority.NORMAL);
+    }
+
+    @Test
+    @DisplayName("When the threads are busy, then the queued reconciliations with the high priority run first and the " +
+            "queue depth is tracked by priority")
+    void testHighPriorityRunsFirst() throws InterruptedException {
+        final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        final PriorityReconcileExecutor executor = new PriorityReconcileExecutor(1, 1, false, Executors.defaultThreadFactory(), registry);
+        final CountDownLatch running = new CountDownLatch(1);
+        final CountDownLatch blocked = new CountDownLatch(1);
+        final List<String> order = new CopyOnWriteArrayList<>();
+        try {
+            executor.execute(() -> {
+                running.countDown();
+                awaitQuietly(blocked);
+            });
+            assertThat(running.await(5, TimeUnit.SECONDS)).isTrue();
+            executor.execute(new ReconcilerTask(bound("resync-1", 1, 1), order));
+            executor.execute(new ReconcilerTask(bound("resync-2", 1, 1), order));
+            executor.execute(new ReconcilerTask(ResourceProvider.getKafkaAccess("new", NAMESPACE), order));
+            executor.execute(() -> order.add("unknown"));
+
+            assertThat(executor.queueDepth(PriorityReconcileExecutor.Priority.HIGH)).isEqualTo(1);
+            assertThat(executor.queueDepth(PriorityReconcileExecutor.Priority.NORMAL)).isEqualTo(3);
+            assertThat(registry.get(PriorityReconcileExecutor.QUEUE_DEPTH)
+                    .tag(PriorityReconcileExecutor.PRIORITY_TAG, "normal").gauge().value()).isEqualTo(3);
+
+            blocked.countDown();
+            executor.shutdown();
+            assertThat(executor.awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+
+            assertThat(order).containsExactly("new", "resync-1", "resync-2", "unknown");
+            assertThat(executor.queueDepth(PriorityReconcileExecutor.Priority.HIGH)).isZero();
+            assertThat(executor.queueDepth(PriorityReconcileExecutor.Priority.NORMAL)).isZero();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("When a namespace has many queued reconciliations, then the reconciliations of the other namespaces are " +
+            "interleaved with them and the wait time is recorded per namespace")
+    void testFairScheduling() throws InterruptedException {
+        final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        final PriorityReconcileExecutor executor = new PriorityReconcileExecutor(1, 1, true, Executors.defaultThreadFactory(), registry);
+        final CountDownLatch running = new CountDownLatch(1);
+        final CountDownLatch blocked = new CountDownLatch(1);
+        final List<String> order = new CopyOnWriteArrayList<>();
+        try {
+            executor.execute(() -> {
+                running.countDown();
+                awaitQuietly(blocked);
+            });
+            assertThat(running.await(5, TimeUnit.SECONDS)).isTrue();
+            executor.execute(new ReconcilerTask(bound("busy-1", "busy-tenant", 1, 1), order));
+            executor.execute(new ReconcilerTask(bound("busy-2", "busy-tenant", 1, 1), order));
+            executor.execute(new ReconcilerTask(bound("busy-3", "busy-tenant", 1, 1), order));
+            executor.execute(new ReconcilerTask(bound("quiet-1", "quiet-tenant", 1, 1), order));
+
+            blocked.countDown();
+            executor.shutdown();
+            assertThat(executor.awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+
+            assertThat(order).containsExactly("busy-1", "quiet-1", "busy-2", "busy-3");
+            assertThat(registry.get(NamespaceFairScheduler.QUEUE_WAIT)
+                    .tag(NamespaceFairScheduler.NAMESPACE_TAG, "busy-tenant").timer().count()).isEqualTo(3);
+            assertThat(registry.get(NamespaceFairScheduler.QUEUE_WAIT)
+                    .tag(NamespaceFairScheduler.NAMESPACE_TAG, "quiet-tenant").timer().count()).isEqualTo(1);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("When the reconciliations of a Kafka cluster reach its limit, then the KafkaAccess resources of another " +
+            "cluster still run and the queued ones run when a slot is released")
+    void testKafkaClusterBulkhead() throws InterruptedException {
+        final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        final PriorityReconcileExecutor executor = new PriorityReconcileExecutor(2, 1, true, Executors.defaultThreadFactory(), registry);
+        final CountDownLatch running = new CountDownLatch(1);
+        final CountDownLatch blocked = new CountDownLatch(1);
+        final CountDownLatch otherClusterDone = new CountDownLatch(1);
+        final List<String> order = new CopyOnWriteArrayList<>();
+        try {
+            executor.execute(new ReconcilerTask(forKafka("busy-1", "busy-cluster"), order, () -> {
+                running.countDown();
+                awaitQuietly(blocked);
+            }));
+            assertThat(running.await(5, TimeUnit.SECONDS)).isTrue();
+            executor.execute(new ReconcilerTask(forKafka("busy-2", "busy-cluster"), order));
+            executor.execute(new ReconcilerTask(forKafka("other-1", "other-cluster"), order, otherClusterDone::countDown));
+
+            assertThat(otherClusterDone.await(5, TimeUnit.SECONDS)).isTrue();
+            assertThat(clusterGauge(registry, KafkaClusterBulkhead.IN_FLIGHT, "busy-cluster")).isEqualTo(1);
+            assertThat(clusterGauge(registry, KafkaClusterBulkhead.QUEUED, "busy-cluster")).isEqualTo(1);
+
+            blocked.countDown();
+            executor.shutdown();
+            assertThat(executor.awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+
+            assertThat(order).containsExactly("busy-1", "other-1", "busy-2");
+            // The clusters without running or queued reconciliations are removed from the metrics
+            assertThat(registry.find(KafkaClusterBulkhead.IN_FLIGHT).tag(KafkaClusterBulkhead.KAFKA_NAME_TAG, "busy-cluster").gauge()).isNull();
+            assertThat(executor.queueDepth(PriorityReconcileExecutor.Priority.HIGH)).isZero();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("When the executor is loaded, then it can read the KafkaAccess resources of the Operator SDK reconciliations")
+    void testReadsPrimaryResources() {
+        assertThat(PriorityReconcileExecutor.readsPrimaryResources()).isTrue();
+    }
+
+    @Test
+    @DisplayName("When the Operator SDK submits a reconciliation, then the executor reads its KafkaAccess resource and " +
+            "gives it its priority")
+    void testOperatorSdkTask() throws Exception {
+        final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        final PriorityReconcileExecutor executor = new PriorityReconcileExecutor(1, 1, false, Executors.defaultThreadFactory(), registry);
+        final CountDownLatch running = new CountDownLatch(1);
+        final CountDownLatch blocked = new CountDownLatch(1);
+        try {
+            executor.execute(() -> {
+                running.countDown();
+                awaitQuietly(blocked);
+            });
+            assertThat(running.await(5, TimeUnit.SECONDS)).isTrue();
+            executor.execute(operatorSdkTask(ResourceProvider.getKafkaAccess("new", NAMESPACE)));
+            executor.execute(operatorSdkTask(bound("resync", 1, 1)));
+
+            assertThat(executor.queueDepth(PriorityReconcileExecutor.Priority.HIGH)).isEqualTo(1);
+            assertThat(executor.queueDepth(PriorityReconcileExecutor.Priority.NORMAL)).isEqualTo(1);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static double clusterGauge(final SimpleMeterRegistry registry, final String name, final String kafkaName) {
+        return registry.get(name).tag(KafkaClusterBulkhead.KAFKA_NAME_TAG, kafkaName).gauge().value();
+    }
+
+    private static KafkaAccess forKafka(final String name, final String kafkaName) {
+        return ResourceProvider.getKafkaAccess(name, NAMESPACE, ResourceProvider.getKafkaReference(kafkaName, NAMESPACE));
+    }
+
+    private static KafkaAccess bound(final String name, final long generation, final long observedGeneration) {
+        return bound(name, NAMESPACE, generation, observedGeneration);
+    }
+
+    private static KafkaAccess bound(final String name, final String namespace, final long generation, final long observedGeneration) {
+        final KafkaAccess kafkaAccess = ResourceProvider.getKafkaAccess(name, namespace);
+        kafkaAccess.getMetadata().setGeneration(generation);
+        final KafkaAccessStatus status = new KafkaAccessStatus();
+        status.setBinding(new BindingStatus(name));
+        status.setObservedGeneration(observedGeneration);
+        kafkaAccess.setStatus(status);
+        return kafkaAccess;
+    }
+
+    /**
+     * Creates the task the Operator SDK submits to the executor for the reconciliation of a KafkaAccess resource. The
+     * SDK does not expose it, so it is created by reflection. The task is only queued, so its event processor is a mock.
+     */
+    private static Runnable operatorSdkTask(final KafkaAccess kafkaAccess) throws ReflectiveOperationException {
+        final Constructor<?> executionScope = Class.forName(EventProcessor.class.getPackageName() + ".ExecutionScope")
+                .getDeclaredConstructor(HasMetadata.class, RetryInfo.class, boolean.class, boolean.class);
+        executionScope.setAccessible(true);
+        final Constructor<?> reconcilerExecutor = Class.forName(EventProcessor.class.getName() + "$ReconcilerExecutor")
+                .getDeclaredConstructor(EventProcessor.class, ResourceID.class, executionScope.getDeclaringClass());
+        reconcilerExecutor.setAccessible(true);
+        return (Runnable) reconcilerExecutor.newInstance(mock(EventProcessor.class), ResourceID.fromResource(kafkaAccess),
+                executionScope.newInstance(kafkaAccess, null, false, false));
+    }
+
+    private static void awaitQuietly(final CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Has the same shape as the tasks the Operator SDK submits for the reconciliations
+     */
+    private static final class ReconcilerTask implements Runnable {
+        private final ExecutionScope executionScope;
+        private final List<String> order;
+        private final Runnable action;
+
+        private ReconcilerTask(final KafkaAccess kafkaAccess, final List<String> order) {
+            this(kafkaAccess, order, () -> { });
+        }
+
+        private ReconcilerTask(final KafkaAccess kafkaAccess, final List<String> order, final Runnable action) {
+            this.executionScope = new ExecutionScope(kafkaAccess);
+            this.order = order;
+            this.action = action;
+        }
+
+        @Override
+        public void run() {
+            order.add(executionScope.getResource().getMetadata().getName());
+            action.run();
+        }
+    }
+
+    private record ExecutionScope(KafkaAccess resource) {
+        public KafkaAccess getResource() {
+            return resource;
+        }
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.strimzi.kafka.access.internal;
+
+import io.javaoperatorsdk.operator.processing.event.ResourceID;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.strimzi.kafka.access.ResourceProvider;
+import io.strimzi.kafka.access.internal.PropagationTracker.Trigger;
+import io.strimzi.kafka.access.model.KafkaAccess;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class PropagationTrackerTest {
+
+    private static final ResourceID KAFKA_ACCESS_1 = new ResourceID("my-access-1", "my-namespace");
+    private static final ResourceID KAFKA_ACCESS_2 = new ResourceID("my-access-2", "my-namespace");
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final AtomicLong nanoTime = new AtomicLong();
+    private final PropagationTracker tracker = new PropagationTracker(registry, nanoTime::get);
+
+    @Test
+    @DisplayName("When a trigger is observed several times before the reconciliation, then the time it was first observed is recorded once the Secret is written")
+    void testFirstObservationRecorded() {
+        assertThat(tracker.observed(Trigger.USER_SECRET, Set.of(KAFKA_ACCESS_1, KAFKA_ACCESS_2))).containsExactlyInAnyOrder(KAFKA_ACCESS_1, KAFKA_ACCESS_2);
+        nanoTime.set(TimeUnit.MILLISECONDS.toNanos(100));
+        tracker.observed(Trigger.USER_SECRET, Set.of(KAFKA_ACCESS_1));
+        tracker.observed(Trigger.CA_SECRET, Set.of(KAFKA_ACCESS_1));
+
+        nanoTime.set(TimeUnit.MILLISECONDS.toNanos(300));
+        final Map<Trigger, Long> triggers = tracker.take(KAFKA_ACCESS_1);
+        assertThat(triggers).containsOnlyKeys(Trigger.USER_SECRET, Trigger.CA_SECRET);
+        tracker.secretWritten(triggers);
+
+        assertThat(timer(Trigger.USER_SECRET).count()).isEqualTo(1);
+        assertThat(timer(Trigger.USER_SECRET).totalTime(TimeUnit.MILLISECONDS)).isEqualTo(300);
+        assertThat(timer(Trigger.CA_SECRET).totalTime(TimeUnit.MILLISECONDS)).isEqualTo(200);
+        assertThat(timer(Trigger.KAFKA).count()).isZero();
+        assertThat(tracker.take(KAFKA_ACCESS_1)).isEmpty();
+        assertThat(tracker.pendingResources()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("When a reconciliation fails, then its restored triggers keep their observation time for the retry")
+    void testRestore() {
+        tracker.observed(Trigger.KAFKA_USER, Set.of(KAFKA_ACCESS_1));
+        final Map<Trigger, Long> triggers = tracker.take(KAFKA_ACCESS_1);
+
+        nanoTime.set(TimeUnit.MILLISECONDS.toNanos(50));
+        tracker.observed(Trigger.KAFKA_USER, Set.of(KAFKA_ACCESS_1));
+        tracker.restore(KAFKA_ACCESS_1, triggers);
+
+        nanoTime.set(TimeUnit.MILLISECONDS.toNanos(500));
+        tracker.secretWritten(tracker.take(KAFKA_ACCESS_1));
+        assertThat(timer(Trigger.KAFKA_USER).totalTime(TimeUnit.MILLISECONDS)).isEqualTo(500);
+    }
+
+    @Test
+    @DisplayName("When a KafkaAccess resource is added or its generation changes, then a primary trigger is observed, but not for status updates")
+    void testPrimaryTriggers() {
+        final KafkaAccess kafkaAccess = ResourceProvider.getKafkaAccess("my-access-1", "my-namespace");
+        kafkaAccess.getMetadata().setGeneration(1L);
+        final KafkaAccess statusUpdated = ResourceProvider.getKafkaAccess("my-access-1", "my-namespace");
+        statusUpdated.getMetadata().setGeneration(1L);
+        final KafkaAccess specUpdated = ResourceProvider.getKafkaAccess("my-access-1", "my-namespace");
+        specUpdated.getMetadata().setGeneration(2L);
+
+        assertThat(tracker.primaryAdded(kafkaAccess)).isTrue();
+        assertThat(tracker.take(KAFKA_ACCESS_1)).containsOnlyKeys(Trigger.PRIMARY);
+        assertThat(tracker.primaryUpdated(statusUpdated, kafkaAccess)).isTrue();
+        assertThat(tracker.take(KAFKA_ACCESS_1)).isEmpty();
+        assertThat(tracker.primaryUpdated(specUpdated, statusUpdated)).isTrue();
+        assertThat(tracker.take(KAFKA_ACCESS_1)).containsOnlyKeys(Trigger.PRIMARY);
+    }
+
+    @Test
+    @DisplayName("When the tracker is created, then the propagation histogram of every trigger is registered")
+    void testTimersRegistered() {
+        for (final Trigger trigger : Trigger.values()) {
+            assertThat(timer(trigger).count()).isZero();
+        }
+    }
+
+    private Timer timer(final Trigger trigger) {
+        return registry.get(PropagationTracker.SECRET_PROPAGATION).tag(PropagationTracker.TRIGGER_TAG, trigger.getTagValue()).timer();
+    }
+}
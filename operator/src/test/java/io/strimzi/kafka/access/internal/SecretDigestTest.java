@@ -0,0 +1,44 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.strimzi.kafka.access.internal;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static io.strimzi.kafka.access.Base64Encoder.encodeUtf8;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SecretDigestTest {
+
+    @Test
+    @DisplayName("When the digest is computed for equal content in a different order, then the digests are equal")
+    void testDigestIndependentOfOrder() {
+        final Map<String, String> data1 = new LinkedHashMap<>();
+        data1.put("bootstrap.servers", encodeUtf8("my-kafka.svc:9092"));
+        data1.put("type", encodeUtf8("kafka"));
+        final Map<String, String> data2 = new LinkedHashMap<>();
+        data2.put("type", encodeUtf8("kafka"));
+        data2.put("bootstrap.servers", encodeUtf8("my-kafka.svc:9092"));
+
+        assertThat(SecretDigest.of(data1, Map.of("label", "value"), Map.of()))
+                .isEqualTo(SecretDigest.of(data2, Map.of("label", "value"), Map.of()));
+    }
+
+    @Test
+    @DisplayName("When the data, labels or annotations change, then the digest changes")
+    void testDigestChangesWithContent() {
+        final Map<String, String> data = new HashMap<>();
+        data.put("bootstrap.servers", encodeUtf8("my-kafka.svc:9092"));
+        final String digest = SecretDigest.of(data, Map.of(), Map.of());
+
+        assertThat(SecretDigest.of(Map.of("bootstrap.servers", encodeUtf8("my-kafka.svc:9093")), Map.of(), Map.of())).isNotEqualTo(digest);
+        assertThat(SecretDigest.of(data, Map.of("label", "value"), Map.of())).isNotEqualTo(digest);
+        assertThat(SecretDigest.of(data, Map.of(), Map.of("label", "value"))).isNotEqualTo(digest);
+    }
+}
@@ -0,0 +1,144 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.strimzi.kafka.access.internal;
+
+import io.fabric8.kubernetes.api.model.StatusBuilder;
+import io.fabric8.kubernetes.api.model.coordination.v1.Lease;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.server.mock.EnableKubernetesMockClient;
+import io.fabric8.kubernetes.client.server.mock.KubernetesMockServer;
+import io.javaoperatorsdk.operator.api.reconciler.IndexedResourceCache;
+import io.javaoperatorsdk.operator.processing.event.Event;
+import io.javaoperatorsdk.operator.processing.event.ResourceID;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.strimzi.kafka.access.KafkaAccessOperatorConfig;
+import io.strimzi.kafka.access.ResourceProvider;
+import io.strimzi.kafka.access.model.KafkaAccess;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.net.HttpURLConnection;
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@EnableKubernetesMockClient(crud = true)
+public class ShardLeaseManagerTest {
+
+    private static final String NAMESPACE = "strimzi-access-operator";
+    private static final int SHARDS = 4;
+
+    KubernetesClient client;
+    KubernetesMockServer server;
+
+    private final AtomicReference<Instant> now = new AtomicReference<>(Instant.parse("2025-01-01T00:00:00Z"));
+    private final List<Event> events = new CopyOnWriteArrayList<>();
+
+    @Test
+    @DisplayName("When the KafkaAccess resources are sharded, then every resource maps to the same shard in range")
+    void testShardOf() {
+        final ResourceID kafkaAccess = new ResourceID("my-access", "my-namespace");
+        assertThat(ShardLeaseManager.shardOf(kafkaAccess, SHARDS)).isBetween(0, SHARDS - 1);
+        assertThat(ShardLeaseManager.shardOf(kafkaAccess, SHARDS)).isEqualTo(ShardLeaseManager.shardOf(new ResourceID("my-access", "my-namespace"), SHARDS));
+        assertThat(ShardLeaseManager.shardOf(kafkaAccess, 1)).isZero();
+    }
+
+    @Test
+    @DisplayName("When a single replica runs, then it owns all shards and reconciles the KafkaAccess resources of each acquired shard")
+    void testSingleReplicaOwnsAllShards() {
+        final KafkaAccess kafkaAccess = ResourceProvider.getKafkaAccess("my-access", "my-namespace");
+        final ShardLeaseManager replica = replica("replica-a", ResourceProvider.getKafkaAccessCache(kafkaAccess));
+
+        replica.rebalance();
+
+        assertThat(replica.ownedShards()).containsExactlyInAnyOrder(0, 1, 2, 3);
+        assertThat(replica.owns(ResourceID.fromResource(kafkaAccess))).isTrue();
+        assertThat(events).containsExactly(new Event(ResourceID.fromResource(kafkaAccess)));
+        assertThat(client.resources(Lease.class).inNamespace(NAMESPACE).list().getItems()).hasSize(SHARDS + 1);
+    }
+
+    @Test
+    @DisplayName("When a replica joins, then the shards are rebalanced, and when it leaves, then the others take them over")
+    void testRebalance() {
+        final ShardLeaseManager replicaA = replica("replica-a", ResourceProvider.getKafkaAccessCache());
+        final ShardLeaseManager replicaB = replica("replica-b", ResourceProvider.getKafkaAccessCache());
+
+        replicaA.rebalance();
+        replicaB.rebalance();
+        assertThat(replicaA.ownedShards()).hasSize(SHARDS);
+        assertThat(replicaB.ownedShards()).isEmpty();
+
+        replicaA.rebalance();
+        replicaB.rebalance();
+        assertThat(replicaA.ownedShards()).hasSize(SHARDS / 2);
+        assertThat(replicaB.ownedShards()).hasSize(SHARDS / 2);
+        final Set<Integer> allShards = new HashSet<>(replicaA.ownedShards());
+        allShards.addAll(replicaB.ownedShards());
+        assertThat(allShards).containsExactlyInAnyOrderElementsOf(IntStream.range(0, SHARDS).boxed().toList());
+
+        replicaB.stop();
+        replicaA.rebalance();
+        assertThat(replicaA.ownedShards()).hasSize(SHARDS);
+    }
+
+    @Test
+    @DisplayName("When a replica stops renewing its Leases, then it no longer owns its shards and they are taken over after the Lease duration")
+    void testExpiredLeasesTakenOver() {
+        final ShardLeaseManager replicaA = replica("replica-a", ResourceProvider.getKafkaAccessCache());
+        final ShardLeaseManager replicaB = replica("replica-b", ResourceProvider.getKafkaAccessCache());
+        final ResourceID kafkaAccess = new ResourceID("my-access", "my-namespace");
+        replicaA.rebalance();
+
+        now.set(now.get().plusSeconds(10));
+        replicaB.rebalance();
+        assertThat(replicaB.ownedShards()).isEmpty();
+
+        now.set(now.get().plusSeconds(10));
+        assertThat(replicaA.owns(kafkaAccess)).isFalse();
+        replicaB.rebalance();
+        assertThat(replicaB.ownedShards()).hasSize(SHARDS);
+        assertThat(replicaB.owns(kafkaAccess)).isTrue();
+    }
+
+    @Test
+    @DisplayName("When the renewal of a shard Lease fails, then the replica keeps the shard until the Lease expires instead of releasing it")
+    void testFailedRenewalKeepsShard() {
+        final KafkaAccess kafkaAccess = ResourceProvider.getKafkaAccess("my-access", "my-namespace");
+        final ShardLeaseManager replica = replica("replica-a", ResourceProvider.getKafkaAccessCache(kafkaAccess));
+        replica.rebalance();
+        events.clear();
+        final int shard = ShardLeaseManager.shardOf(ResourceID.fromResource(kafkaAccess), SHARDS);
+        final String leaseName = "strimzi-access-operator-shard-" + shard;
+        server.expect().put()
+                .withPath("/apis/coordination.k8s.io/v1/namespaces/" + NAMESPACE + "/leases/" + leaseName)
+                .andReturn(HttpURLConnection.HTTP_CONFLICT, new StatusBuilder().withCode(HttpURLConnection.HTTP_CONFLICT).build())
+                .once();
+
+        now.set(now.get().plusSeconds(2));
+        replica.rebalance();
+
+        assertThat(replica.ownedShards()).hasSize(SHARDS);
+        assertThat(replica.owns(ResourceID.fromResource(kafkaAccess))).isTrue();
+        assertThat(client.resources(Lease.class).inNamespace(NAMESPACE).withName(leaseName).get().getSpec().getHolderIdentity()).isEqualTo("replica-a");
+        assertThat(events).isEmpty();
+    }
+
+    private ShardLeaseManager replica(final String identity, final IndexedResourceCache<KafkaAccess> cache) {
+        final KafkaAccessOperatorConfig config = KafkaAccessOperatorConfig.fromMap(Map.of(
+                KafkaAccessOperatorConfig.STRIMZI_SHARD_COUNT, String.valueOf(SHARDS),
+                KafkaAccessOperatorConfig.STRIMZI_LEADER_ELECTION_LEASE_NAMESPACE, NAMESPACE,
+                KafkaAccessOperatorConfig.STRIMZI_LEADER_ELECTION_IDENTITY, identity));
+        final ShardLeaseManager replica = new ShardLeaseManager(client, config, cache, new SimpleMeterRegistry(), now::get);
+        replica.setEventHandler(events::add);
+        return replica;
+    }
+}
@@ -0,0 +1,54 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.strimzi.kafka.access.internal;
+
+import io.fabric8.kubernetes.api.model.Secret;
+import io.fabric8.kubernetes.client.informers.cache.ItemStore;
+import io.javaoperatorsdk.operator.api.config.informer.InformerConfiguration;
+import io.javaoperatorsdk.operator.api.config.informer.InformerEventSourceConfiguration;
+import io.javaoperatorsdk.operator.processing.event.ResourceID;
+import io.javaoperatorsdk.operator.processing.event.source.SecondaryToPrimaryMapper;
+import io.strimzi.kafka.access.ResourceProvider;
+import io.strimzi.kafka.access.model.KafkaAccess;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TransformingInformerConfigurationTest {
+
+    @Test
+    @DisplayName("When the informers of several namespaces ask for the item store, then each of them gets its own " +
+            "transforming item store and the rest of the configuration is kept")
+    void testItemStorePerInformer() {
+        final SecondaryToPrimaryMapper<Secret> mapper = secret -> Set.of(new ResourceID("my-access", "my-namespace"));
+        final InformerEventSourceConfiguration<Secret> configuration = new TransformingInformerConfiguration<>(
+                InformerEventSourceConfiguration.from(Secret.class, KafkaAccess.class)
+                        .withName("my-secrets")
+                        .withNamespaces(Set.of("namespace-1", "namespace-2"))
+                        .withLabelSelector("app=kafka")
+                        .withSecondaryToPrimaryMapper(mapper)
+                        .build(),
+                InformerTransforms::pruneKafkaUserSecret);
+
+        final InformerConfiguration<Secret> informerConfig = configuration.getInformerConfig();
+        final ItemStore<Secret> store1 = informerConfig.getItemStore();
+        final ItemStore<Secret> store2 = informerConfig.getItemStore();
+        assertThat(store1).isInstanceOf(TransformingItemStore.class).isNotSameAs(store2);
+
+        final Secret secret = ResourceProvider.getStrimziUserSecret("my-user", "namespace-1", "my-kafka");
+        store1.put(store1.getKey(secret), secret);
+        assertThat(store1.size()).isEqualTo(1);
+        assertThat(store2.size()).isZero();
+
+        assertThat(configuration.name()).isEqualTo("my-secrets");
+        assertThat(configuration.getResourceClass()).isEqualTo(Secret.class);
+        assertThat(informerConfig.getNamespaces()).containsExactlyInAnyOrder("namespace-1", "namespace-2");
+        assertThat(informerConfig.getLabelSelector()).isEqualTo("app=kafka");
+        assertThat(configuration.getSecondaryToPrimaryMapper()).isSameAs(mapper);
+    }
+}
@@ -0,0 +1,40 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.strimzi.kafka.access.internal;
+
+import io.fabric8.kubernetes.api.model.Secret;
+import io.fabric8.kubernetes.client.informers.cache.Cache;
+import io.strimzi.kafka.access.ResourceProvider;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static io.strimzi.kafka.access.Base64Encoder.encodeUtf8;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TransformingItemStoreTest {
+
+    static final String NAMESPACE = "my-namespace";
+
+    @Test
+    @DisplayName("When a resource is put in the store, then the transformed resource is stored under the namespace and name key")
+    void testPutStoresTransformedResource() {
+        final TransformingItemStore<Secret> store = new TransformingItemStore<>(InformerTransforms::pruneKafkaUserSecret);
+        final Secret secret = ResourceProvider.getStrimziUserSecret("my-user", NAMESPACE, "my-kafka");
+        secret.setData(Map.of("password", encodeUtf8("password"), "user.p12", encodeUtf8("p12")));
+
+        final String key = store.getKey(secret);
+        assertThat(key).isEqualTo(Cache.metaNamespaceKeyFunc(secret));
+        assertThat(store.put(key, secret)).isNull();
+
+        assertThat(store.get(key).getData()).containsOnlyKeys("password");
+        assertThat(store.size()).isEqualTo(1);
+        assertThat(store.keySet()).containsExactly(key);
+        assertThat(store.values()).hasSize(1);
+        assertThat(store.remove(key)).isNotNull();
+        assertThat(store.size()).isZero();
+    }
+}
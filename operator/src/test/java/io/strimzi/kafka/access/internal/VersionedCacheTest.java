@@ -0,0 +1,66 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.strimzi.kafka.access.internal;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class VersionedCacheTest {
+
+    @Test
+    @DisplayName("When get() is called with the same version, then the cached value is returned without calling the supplier")
+    void testSameVersionReturnsCachedValue() {
+        final VersionedCache<String, String> cache = new VersionedCache<>(10);
+        final AtomicInteger calls = new AtomicInteger();
+
+        assertThat(cache.get("key", "1", () -> "value-" + calls.incrementAndGet())).isEqualTo("value-1");
+        assertThat(cache.get("key", "1", () -> "value-" + calls.incrementAndGet())).isEqualTo("value-1");
+        assertThat(calls).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("When get() is called with a different version, then the value is recomputed and replaces the cached one")
+    void testNewVersionRecomputesValue() {
+        final VersionedCache<String, String> cache = new VersionedCache<>(10);
+        cache.get("key", "1", () -> "old");
+
+        assertThat(cache.get("key", "2", () -> "new")).isEqualTo("new");
+        assertThat(cache.get("key", "2", () -> "newer")).isEqualTo("new");
+        assertThat(cache.size()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("When the maximum size is exceeded, then the least recently used entry is evicted")
+    void testLeastRecentlyUsedEntryEvicted() {
+        final VersionedCache<String, String> cache = new VersionedCache<>(2);
+        cache.get("a", "1", () -> "a");
+        cache.get("b", "1", () -> "b");
+        cache.get("a", "1", () -> "unused");
+        cache.get("c", "1", () -> "c");
+
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.get("a", "1", () -> "recomputed")).isEqualTo("a");
+        assertThat(cache.get("b", "1", () -> "recomputed")).isEqualTo("recomputed");
+    }
+
+    @Test
+    @DisplayName("When remove() is called or the supplier throws, then no value is cached for the key")
+    void testRemoveAndFailedSupplier() {
+        final VersionedCache<String, String> cache = new VersionedCache<>(10);
+        cache.get("key", "1", () -> "value");
+        cache.remove("key");
+        assertThat(cache.size()).isZero();
+
+        assertThrows(IllegalStateException.class, () -> cache.get("key", "1", () -> {
+            throw new IllegalStateException("failed");
+        }));
+        assertThat(cache.size()).isZero();
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.strimzi.kafka.access.internal;
+
+import io.fabric8.kubernetes.client.http.HttpRequest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class WriteRateLimiterTest {
+
+    private final AtomicLong nanoTime = new AtomicLong();
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    @DisplayName("When the burst is used up, then the following writes wait for the tokens refilled at the configured rate")
+    void testReserveWaitsWhenBurstUsedUp() {
+        final WriteRateLimiter limiter = new WriteRateLimiter(10, 2, registry, nanoTime::get);
+
+        assertThat(limiter.reserve()).isZero();
+        assertThat(limiter.reserve()).isZero();
+        assertThat(limiter.reserve()).isEqualTo(TimeUnit.MILLISECONDS.toNanos(100));
+        assertThat(limiter.reserve()).isEqualTo(TimeUnit.MILLISECONDS.toNanos(200));
+
+        nanoTime.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        assertThat(limiter.reserve()).isZero();
+    }
+
+    @Test
+    @DisplayName("When a write is throttled, then the rate is halved, writes pause for the Retry-After delay and the " +
+            "rate recovers with successful writes")
+    void testThrottledLowersRateUntilWritesSucceed() {
+        final WriteRateLimiter limiter = new WriteRateLimiter(10, 5, registry, nanoTime::get);
+
+        limiter.onThrottled(2);
+
+        assertThat(limiter.getRate()).isEqualTo(5);
+        assertThat(limiter.reserve()).isEqualTo(TimeUnit.SECONDS.toNanos(2));
+        assertThat(registry.get(WriteRateLimiter.THROTTLED).counter().count()).isEqualTo(1);
+        assertThat(registry.get(WriteRateLimiter.CURRENT_RATE).gauge().value()).isEqualTo(5);
+        assertThat(registry.get(WriteRateLimiter.CONFIGURED_RATE).gauge().value()).isEqualTo(10);
+
+        for (int i = 0; i < 20; i++) {
+            limiter.onSuccess();
+        }
+        assertThat(limiter.getRate()).isEqualTo(10);
+    }
+
+    @Test
+    @DisplayName("When the bucket is empty, then a Lease renewal is sent right away without taking a token")
+    void testLeaseRenewalNotLimited() {
+        final WriteRateLimiter limiter = new WriteRateLimiter(10, 1, registry, nanoTime::get);
+        assertThat(limiter.reserve()).isZero();
+
+        limiter.before(null, request("PUT", "/apis/coordination.k8s.io/v1/namespaces/strimzi-access-operator/leases/strimzi-access-operator"), null);
+
+        // The writes which wait for a token are recorded in the wait timer before they sleep
+        assertThat(registry.get(WriteRateLimiter.WAIT).timer().count()).isZero();
+        assertThat(limiter.reserve()).isEqualTo(TimeUnit.MILLISECONDS.toNanos(100));
+    }
+
+    @Test
+    @DisplayName("When the leader election creates its Lease while the API server throttles the writes, then the Lease " +
+            "is created right away")
+    void testLeaderElectionLeaseNotPaused() {
+        final WriteRateLimiter limiter = new WriteRateLimiter(10, 5, registry, nanoTime::get);
+        limiter.onThrottled(30);
+
+        limiter.before(null, request("POST", "/apis/coordination.k8s.io/v1/namespaces/strimzi-access-operator/leases"), null);
+
+        assertThat(registry.get(WriteRateLimiter.WAIT).timer().count()).isZero();
+    }
+
+    @Test
+    @DisplayName("When writes are throttled repeatedly, then the rate does not drop below the minimum rate")
+    void testRateHasMinimum() {
+        final WriteRateLimiter limiter = new WriteRateLimiter(20, 5, registry, nanoTime::get);
+
+        for (int i = 0; i < 10; i++) {
+            limiter.onThrottled(0);
+        }
+
+        assertThat(limiter.getRate()).isEqualTo(1);
+    }
+
+    private static HttpRequest request(final String method, final String path) {
+        final HttpRequest request = mock(HttpRequest.class);
+        when(request.method()).thenReturn(method);
+        when(request.uri()).thenReturn(URI.create("https://kubernetes:443" + path));
+        return request;
+    }
+}
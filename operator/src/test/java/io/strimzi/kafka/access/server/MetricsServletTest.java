@@ -0,0 +1,66 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.strimzi.kafka.access.server;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.prometheusmetrics.PrometheusConfig;
+import io.micrometer.prometheusmetrics.PrometheusMeterRegistry;
+import io.strimzi.kafka.access.internal.OperatorMetrics;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class MetricsServletTest {
+
+    @Test
+    @DisplayName("When the metrics are scraped, then the operator and JVM metrics are written in the Prometheus text format")
+    void testScrape() throws IOException {
+        final PrometheusMeterRegistry registry = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+        Counter.builder("strimzi.access.test").register(registry).increment();
+        OperatorMetrics.bindJvmMetrics(registry);
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        final HttpServletResponse response = mock(HttpServletResponse.class);
+        when(response.getOutputStream()).thenReturn(servletOutputStream(output));
+
+        new MetricsServlet(registry).doGet(mock(HttpServletRequest.class), response);
+
+        verify(response).setStatus(HttpServletResponse.SC_OK);
+        verify(response).setContentType(MetricsServlet.CONTENT_TYPE);
+        assertThat(output.toString(StandardCharsets.UTF_8))
+                .contains("strimzi_access_test_total 1.0")
+                .contains("jvm_memory_used_bytes")
+                .contains("jvm_threads_live_threads");
+    }
+
+    private static ServletOutputStream servletOutputStream(final ByteArrayOutputStream output) {
+        return new ServletOutputStream() {
+            @Override
+            public boolean isReady() {
+                return true;
+            }
+
+            @Override
+            public void setWriteListener(WriteListener writeListener) {
+            }
+
+            @Override
+            public void write(int b) {
+                output.write(b);
+            }
+        };
+    }
+}
@@ -13,6 +13,10 @@ import io.fabric8.kubernetes.api.model.apps.DeploymentBuilder;
 import io.fabric8.kubernetes.api.model.rbac.ClusterRole;
 import io.fabric8.kubernetes.api.model.rbac.ClusterRoleBinding;
 import io.fabric8.kubernetes.api.model.rbac.ClusterRoleBindingBuilder;
+import io.fabric8.kubernetes.api.model.rbac.Role;
+import io.fabric8.kubernetes.api.model.rbac.RoleBinding;
+import io.fabric8.kubernetes.api.model.rbac.RoleBindingBuilder;
+import io.fabric8.kubernetes.api.model.rbac.RoleBuilder;
 import io.skodjob.kubetest4j.installation.InstallationMethod;
 import io.skodjob.kubetest4j.resources.KubeResourceManager;
 import io.skodjob.kubetest4j.utils.ImageUtils;
@@ -76,6 +80,27 @@ public class BundleInstallation implements InstallationMethod {
                         .build()
                     );
                     break;
+                case TestConstants.ROLE:
+                    Role role = KubeTestUtils.configFromYaml(file, Role.class);
+                    KubeResourceManager.get().createOrUpdateResourceWithWait(new RoleBuilder(role)
+                        .editMetadata()
+                            .withNamespace(installationNamespace)
+                        .endMetadata()
+                        .build()
+                    );
+                    break;
+                case TestConstants.ROLE_BINDING:
+                    RoleBinding roleBinding = KubeTestUtils.configFromYaml(file, RoleBinding.class);
+                    KubeResourceManager.get().createOrUpdateResourceWithWait(new RoleBindingBuilder(roleBinding)
+                        .editMetadata()
+                            .withNamespace(installationNamespace)
+                        .endMetadata()
+                        .editFirstSubject()
+                            .withNamespace(installationNamespace)
+                        .endSubject()
+                        .build()
+                    );
+                    break;
                 case TestConstants.CUSTOM_RESOURCE_DEFINITION_SHORT:
                     CustomResourceDefinition customResourceDefinition = KubeTestUtils.configFromYaml(file, CustomResourceDefinition.class);
                     KubeResourceManager.get().createOrUpdateResourceWithWait(customResourceDefinition);